@@ -2,8 +2,12 @@ package com.authauz.authauz;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.authauz.authauz.configuration.AppRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(AppRuntimeHints.class)
 public class AuthAuzApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.authauz.authauz.audit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A single structured record of an authentication or authorization decision.
+ * Instances are immutable once built, so they can be handed from request
+ * threads to the background writer without copying.
+ */
+@Getter
+@Builder
+public class AuditEvent {
+    private final long timestamp;
+    private final AuditEventType type;
+    private final String principal;
+    private final String endpoint;
+    private final String scope;
+    private final AuditOutcome outcome;
+    private final long latencyMicros;
+    private final String reason;
+}
@@ -0,0 +1,9 @@
+package com.authauz.authauz.audit;
+
+/**
+ * The kind of security decision an {@link AuditEvent} describes.
+ */
+public enum AuditEventType {
+    AUTHENTICATION,
+    AUTHORIZATION
+}
@@ -0,0 +1,21 @@
+package com.authauz.authauz.audit;
+
+/**
+ * When the audit writer forces written batches to the storage device.
+ */
+public enum AuditFsyncPolicy {
+    /**
+     * Leave flushing to the operating system.
+     */
+    NEVER,
+
+    /**
+     * Force the file after every written batch.
+     */
+    EVERY_BATCH,
+
+    /**
+     * Force the file at most once per configured fsync interval.
+     */
+    PERIODIC
+}
@@ -0,0 +1,112 @@
+package com.authauz.authauz.audit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Small command line tool for querying the audit log written by
+ * {@link AuditLogger}. Matching records are printed as JSON lines, followed by
+ * a per-outcome summary on stderr.
+ * <p>
+ * Usage, from the packaged application:
+ *
+ * <pre>
+ * java -cp target/authAuz-0.0.1-SNAPSHOT.jar \
+ *      -Dloader.main=com.authauz.authauz.audit.AuditLogQuery \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --file audit/security-audit.jsonl --outcome DENIED --since 2024-01-01T00:00:00Z --limit 100
+ * </pre>
+ *
+ * Supported filters: {@code --type}, {@code --principal}, {@code --outcome},
+ * {@code --endpoint} (substring match), {@code --since} and {@code --until}
+ * (ISO-8601 instants) and {@code --limit}.
+ */
+public class AuditLogQuery {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String type;
+    private String principal;
+    private String outcome;
+    private String endpoint;
+    private long since = Long.MIN_VALUE;
+    private long until = Long.MAX_VALUE;
+    private long limit = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        AuditLogQuery query = new AuditLogQuery();
+
+        for (int i = 0; i < args.length - 1; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--file" -> file = Path.of(value);
+                case "--type" -> query.type = value;
+                case "--principal" -> query.principal = value;
+                case "--outcome" -> query.outcome = value;
+                case "--endpoint" -> query.endpoint = value;
+                case "--since" -> query.since = Instant.parse(value).toEpochMilli();
+                case "--until" -> query.until = Instant.parse(value).toEpochMilli();
+                case "--limit" -> query.limit = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (Objects.isNull(file)) {
+            System.err.println("Usage: AuditLogQuery --file <audit-log> [--type AUTHENTICATION|AUTHORIZATION] "
+                    + "[--principal <id>] [--outcome GRANTED|DENIED|BYPASSED] [--endpoint <text>] "
+                    + "[--since <instant>] [--until <instant>] [--limit <n>]");
+            System.exit(1);
+        }
+
+        query.run(file, System.out, System.err);
+    }
+
+    /**
+     * Streams the audit file line by line, printing every matching record.
+     */
+    void run(Path file, PrintStream out, PrintStream summary) throws IOException {
+        Map<String, Long> outcomes = new HashMap<>();
+        long matched = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while (matched < limit && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode event = objectMapper.readTree(line);
+                if (matches(event)) {
+                    out.println(line);
+                    outcomes.merge(event.path("outcome").asText(), 1L, Long::sum);
+                    matched++;
+                }
+            }
+        }
+
+        summary.println("Matched " + matched + " events " + outcomes);
+    }
+
+    private boolean matches(JsonNode event) {
+        long timestamp = event.path("timestamp").asLong();
+        return timestamp >= since && timestamp <= until
+                && equalsIfSet(type, event.path("type").asText())
+                && equalsIfSet(principal, event.path("principal").asText())
+                && equalsIfSet(outcome, event.path("outcome").asText())
+                && (Objects.isNull(endpoint) || event.path("endpoint").asText().contains(endpoint));
+    }
+
+    private boolean equalsIfSet(String expected, String actual) {
+        return Objects.isNull(expected) || expected.equalsIgnoreCase(actual);
+    }
+}
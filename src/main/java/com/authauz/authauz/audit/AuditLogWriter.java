@@ -0,0 +1,131 @@
+package com.authauz.authauz.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background writer that drains the {@link AuditRingBuffer} in batches and
+ * appends the events as JSON lines to the audit file through a
+ * {@link FileChannel}.
+ * <p>
+ * All encoding and file I/O happens on this thread; request threads only
+ * publish into the ring buffer. If the file cannot be opened or written, the
+ * writer exits and reports it through the failure callback, so that callers
+ * stop publishing into a buffer nobody drains.
+ */
+@Slf4j
+class AuditLogWriter implements Runnable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final byte NEWLINE = '\n';
+
+    private final AuditRingBuffer buffer;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final int batchSize;
+    private final AuditFsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final Runnable onFailure;
+
+    private ByteBuffer batch = ByteBuffer.allocateDirect(64 * 1024);
+    private long lastFsyncAt = System.nanoTime();
+    private volatile boolean running = true;
+
+    AuditLogWriter(AuditRingBuffer buffer, ObjectMapper objectMapper, Path file, int batchSize,
+            AuditFsyncPolicy fsyncPolicy, long fsyncIntervalMillis, Runnable onFailure) {
+        this.buffer = buffer;
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.batchSize = batchSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Signals the writer to flush what is left in the buffer and exit.
+     */
+    void shutdown() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        try (FileChannel channel = openChannel()) {
+            while (running) {
+                if (buffer.drain(this::encode, batchSize) == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                flush(channel);
+            }
+
+            // Drain events published before shutdown was requested
+            while (buffer.drain(this::encode, batchSize) > 0) {
+                flush(channel);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            // Any failure ends the thread, so recording must stop with it
+            log.error("Audit log writer stopped, file: {}", file, e);
+            onFailure.run();
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends one event as a JSON line to the current batch, growing the batch
+     * buffer if a single record does not fit.
+     */
+    private void encode(AuditEvent event) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            log.error("Unable to encode audit event", e);
+            return;
+        }
+
+        if (batch.remaining() < json.length + 1) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(batch.capacity() * 2, batch.position()
+                    + json.length + 1));
+            batch.flip();
+            larger.put(batch);
+            batch = larger;
+        }
+        batch.put(json).put(NEWLINE);
+    }
+
+    private void flush(FileChannel channel) throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+
+        long now = System.nanoTime();
+        if (fsyncPolicy == AuditFsyncPolicy.EVERY_BATCH
+                || (fsyncPolicy == AuditFsyncPolicy.PERIODIC && now - lastFsyncAt >= fsyncIntervalNanos)) {
+            channel.force(false);
+            lastFsyncAt = now;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.authauz.authauz.audit;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.AuditConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point for recording security audit events.
+ * <p>
+ * Request threads call {@link #record(AuditEvent)}, which only publishes into a
+ * bounded lock-free ring buffer. A single daemon thread runs the
+ * {@link AuditLogWriter}, which batches the events into an append-only JSON
+ * lines file. When the buffer is full the configured
+ * {@link AuditOverflowStrategy} decides whether the event is dropped or the
+ * caller waits, for at most {@code block-timeout-millis}, for a free slot;
+ * request threads never perform file I/O. If the writer dies on an I/O error,
+ * the logger stops accepting events instead of letting the buffer fill up.
+ * <p>
+ * Auditing is disabled unless {@code com.authauz.authauz.audit.enabled} is set,
+ * in which case {@link #record(AuditEvent)} is a no-op.
+ */
+@Slf4j
+@Component
+public class AuditLogger implements SmartLifecycle {
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditConfiguration config;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer buffer;
+    private final LongAdder dropped = new LongAdder();
+
+    private AuditLogWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogger(AppConfigurationProperties properties, ObjectMapper objectMapper) {
+        this.config = properties.getAudit();
+        this.objectMapper = objectMapper;
+        this.buffer = config.isEnabled() ? new AuditRingBuffer(config.getBufferSize()) : null;
+    }
+
+    /**
+     * @return true if events passed to {@link #record(AuditEvent)} are written;
+     *         callers can use it to skip building events altogether
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Publishes an audit event to the background writer.
+     *
+     * @param event the event to record
+     */
+    public void record(AuditEvent event) {
+        if (!running) {
+            return;
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (config.getOverflow() == AuditOverflowStrategy.DROP) {
+            dropped.increment();
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getBlockTimeoutMillis());
+        while (running && !buffer.offer(event)) {
+            if (System.nanoTime() - deadline >= 0) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    /**
+     * @return the number of events discarded because the buffer was full, or
+     *         stayed full for longer than the block timeout
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled() || Objects.nonNull(writer)) {
+            return;
+        }
+        writer = new AuditLogWriter(buffer, objectMapper, Path.of(config.getFile()), config.getBatchSize(),
+                config.getFsync(), config.getFsyncIntervalMillis(), this::writerFailed);
+        writerThread = new Thread(writer, "audit-log-writer");
+        writerThread.setDaemon(true);
+        // Set before the writer runs, so that an immediate failure is not overwritten
+        running = true;
+        writerThread.start();
+        log.info("Security audit log enabled, file: {}, buffer: {}, overflow: {}, fsync: {}", config.getFile(),
+                buffer.capacity(), config.getOverflow(), config.getFsync());
+    }
+
+    /**
+     * Called on the writer thread when it exits on an I/O error. Events recorded
+     * from now on are discarded, and threads waiting in BLOCK mode give up.
+     */
+    private void writerFailed() {
+        running = false;
+        log.error("Security audit log disabled, events are no longer recorded");
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        running = false;
+        writer.shutdown();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        if (dropped.sum() > 0) {
+            log.warn("Security audit log dropped {} events because the buffer was full", dropped.sum());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(writer);
+    }
+}
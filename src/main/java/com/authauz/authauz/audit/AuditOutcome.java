@@ -0,0 +1,11 @@
+package com.authauz.authauz.audit;
+
+/**
+ * Outcome of an authentication or authorization decision recorded in the
+ * audit log.
+ */
+public enum AuditOutcome {
+    GRANTED,
+    DENIED,
+    BYPASSED
+}
@@ -0,0 +1,19 @@
+package com.authauz.authauz.audit;
+
+/**
+ * What a request thread does when the audit ring buffer is full.
+ */
+public enum AuditOverflowStrategy {
+    /**
+     * Discard the event and count it as dropped. Request latency is never
+     * affected.
+     */
+    DROP,
+
+    /**
+     * Spin and park until the writer frees a slot, for at most the configured
+     * block timeout, after which the event is dropped. No event is lost while
+     * the writer keeps up, but a stalled writer slows down request threads.
+     */
+    BLOCK
+}
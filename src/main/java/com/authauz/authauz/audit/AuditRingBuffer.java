@@ -0,0 +1,101 @@
+package com.authauz.authauz.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer ring buffer for audit
+ * events.
+ * <p>
+ * Every slot carries a sequence number that tells producers and the consumer
+ * whether the slot is free or holds a published event, so producers only
+ * contend on a single CAS of the tail cursor and never block each other. The
+ * consumer side is confined to the audit writer thread.
+ */
+class AuditRingBuffer {
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only read and written by the single consumer thread
+    private long head;
+
+    /**
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Audit buffer capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes an event without blocking.
+     *
+     * @param event the event to publish
+     * @return false if the buffer is full
+     */
+    boolean offer(AuditEvent event) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not released this slot yet
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code limit} published events to the consumer, in publication
+     * order. Must only be called from the consumer thread.
+     *
+     * @param consumer receives each drained event
+     * @param limit    the maximum number of events to drain
+     * @return the number of drained events
+     */
+    int drain(Consumer<AuditEvent> consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            AuditEvent event = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            consumer.accept(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return the number of slots in the buffer
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
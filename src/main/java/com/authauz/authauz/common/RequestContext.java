@@ -1,5 +1,7 @@
 package com.authauz.authauz.common;
 
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import lombok.Builder;
@@ -9,6 +11,10 @@ import lombok.Getter;
  * Represents the context of a request, encapsulating essential details
  * such as the user's identity, type, and role.
  * Additional fields can be added as per future requirements.
+ * <p>
+ * Service clients authenticated through the client-credentials grant carry no
+ * user type or role; they hold the explicit set of scopes they were granted
+ * instead.
  */
 @Getter
 @Builder
@@ -16,4 +22,18 @@ public class RequestContext {
     private UUID userId;
     private UserType userType;
     private Role role;
+    // Scope values such as "seller:admin", null for users
+    private Set<String> grantedScopes;
+    // jti of the token the request was authenticated with, if any
+    private String tokenId;
+    // Expiry of that token, in seconds since the epoch
+    private Long expiresAt;
+
+    /**
+     * @return True if this is the context of a service client rather than a
+     *         user.
+     */
+    public boolean isServiceClient() {
+        return Objects.nonNull(grantedScopes);
+    }
 }
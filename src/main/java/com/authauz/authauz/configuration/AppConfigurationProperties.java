@@ -1,10 +1,20 @@
 package com.authauz.authauz.configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import com.authauz.authauz.audit.AuditFsyncPolicy;
+import com.authauz.authauz.audit.AuditOverflowStrategy;
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.utils.JtiStrategy;
+import com.authauz.authauz.utils.JwtCodecType;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -16,12 +26,37 @@ public class AppConfigurationProperties {
     private JwtConfiguration jwt;
     private CookieConfiguration cookie;
     private AuthConfiguration auth;
+    private AuditConfiguration audit = new AuditConfiguration();
+    private LoginLimitConfiguration loginLimit = new LoginLimitConfiguration();
+    private AssertionConfiguration assertion = new AssertionConfiguration();
+    private WarmupConfiguration warmup = new WarmupConfiguration();
+    private UsersConfiguration users = new UsersConfiguration();
+    private UserImportConfiguration userImport = new UserImportConfiguration();
+    private QuotaConfiguration quota = new QuotaConfiguration();
+    private ShadowPolicyConfiguration shadowPolicy = new ShadowPolicyConfiguration();
+    private ClientCredentialsConfiguration clientCredentials = new ClientCredentialsConfiguration();
+    private TrafficSketchConfiguration trafficSketch = new TrafficSketchConfiguration();
+    private IdleSessionConfiguration idleSession = new IdleSessionConfiguration();
+    private ForwardAuthConfiguration forwardAuth = new ForwardAuthConfiguration();
 
     @Getter
     @Setter
     public static class JwtConfiguration {
         private String secret;
         private int expiresIn;
+        private JtiStrategy jtiStrategy = JtiStrategy.RANDOM;
+        private JwtCodecType codec = JwtCodecType.JJWT;
+        private GateConfiguration gate = new GateConfiguration();
+    }
+
+    @Getter
+    @Setter
+    public static class GateConfiguration {
+        private boolean enabled = true;
+        private int minLength = 16;
+        private int maxLength = 4096;
+        private boolean expPeek = true;
+        private int negativeCacheSize = 4096;
     }
 
     @Getter
@@ -35,6 +70,7 @@ public class AppConfigurationProperties {
     @Setter
     public static class AuthConfiguration {
         private BypassConfig bypass;
+        private boolean routeAuthorization;
 
         @Getter
         @Setter
@@ -44,4 +80,144 @@ public class AppConfigurationProperties {
         }
     }
 
-}
\ No newline at end of file
+    @Getter
+    @Setter
+    public static class AuditConfiguration {
+        private boolean enabled;
+        private String file = "audit/security-audit.jsonl";
+        private int bufferSize = 8192;
+        private int batchSize = 256;
+        private AuditOverflowStrategy overflow = AuditOverflowStrategy.DROP;
+        private long blockTimeoutMillis = 100;
+        private AuditFsyncPolicy fsync = AuditFsyncPolicy.PERIODIC;
+        private long fsyncIntervalMillis = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class LoginLimitConfiguration {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private int windowSize = 50;
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+        private int retryAfterSeconds = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class AssertionConfiguration {
+        private boolean enabled;
+        private String secret;
+        private long ttlSeconds = 30;
+        private String header = "X-Auth-Context";
+    }
+
+    @Getter
+    @Setter
+    public static class WarmupConfiguration {
+        private boolean enabled;
+        private int iterations = 1000;
+        private Duration timeBudget = Duration.ofSeconds(15);
+    }
+
+    @Getter
+    @Setter
+    public static class UsersConfiguration {
+        private int defaultPageSize = 100;
+        private int maxPageSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class UserImportConfiguration {
+        private int batchSize = 500;
+        private int workers = 2;
+        private int maxInFlightBatches = 4;
+        private int maxLineLength = 16_384;
+    }
+
+    @Getter
+    @Setter
+    public static class QuotaConfiguration {
+        private boolean enabled;
+        private int maxPrincipals = 100_000;
+        // Keyed by endpoint scope, e.g. "seller:admin"
+        private Map<String, ScopeQuota> scopes = new HashMap<>();
+
+        @Getter
+        @Setter
+        public static class ScopeQuota {
+            private QuotaLimit principal;
+            private QuotaLimit group;
+        }
+
+        @Getter
+        @Setter
+        public static class QuotaLimit {
+            private int limit;
+            private Duration period = Duration.ofSeconds(1);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ShadowPolicyConfiguration {
+        private boolean enabled;
+        private double sampleRate = 0.1;
+        private int queueCapacity = 1024;
+        private int maxDivergenceKeys = 1024;
+        // Candidate scopes keyed by endpoint, e.g. "UserController#getUser"
+        private Map<String, List<AppScopes>> candidates = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class ClientCredentialsConfiguration {
+        private boolean enabled;
+        private Duration tokenLifetime = Duration.ofHours(1);
+        // A re-request within this window gets the token issued before
+        private Duration reuseWindow = Duration.ofMinutes(30);
+        // Registered service clients keyed by client id
+        private Map<String, ServiceClient> clients = new HashMap<>();
+
+        @Getter
+        @Setter
+        public static class ServiceClient {
+            private String secret;
+            private List<AppScopes> scopes = new ArrayList<>();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TrafficSketchConfiguration {
+        private boolean enabled = true;
+        private Duration window = Duration.ofMinutes(1);
+        // 2^precision one-byte registers, 14 gives a 0.8% standard error
+        private int hllPrecision = 14;
+        private int cmsDepth = 4;
+        private int cmsWidth = 2048;
+        private int topK = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class IdleSessionConfiguration {
+        private boolean enabled;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        // Resolution of the idle deadlines
+        private Duration tick = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ForwardAuthConfiguration {
+        private boolean enabled = true;
+        private String path = "/forward-auth";
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.authauz.authauz.configuration;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.dto.AuthRequest;
+import com.authauz.authauz.dto.AuthResponse;
+import com.authauz.authauz.rest.controller.AuthController;
+import com.authauz.authauz.rest.controller.UserController;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.AuthorizeAnnotationBeanPostProcessor;
+import com.authauz.authauz.security.annotation.AuthorizeList;
+import com.authauz.authauz.security.aspect.AuthorizeAspect;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Registers the reflection, proxy and resource hints that Spring AOT cannot
+ * infer on its own, so the application can be compiled into a GraalVM native
+ * image.
+ * <p>
+ * The hints cover:
+ * <ul>
+ * <li>the authorization aspect and the annotation post processor, which read
+ * {@link Authorize}/{@link AuthorizeList} reflectively from controller
+ * methods not covered by the generated {@code SecurityManifest}</li>
+ * <li>the request-scoped {@link HttpServletRequest} JDK proxy injected into the
+ * aspect</li>
+ * <li>the jjwt runtime, whose API module loads {@code jjwt-impl} and
+ * {@code jjwt-jackson} implementations by class name</li>
+ * <li>Lombok-generated builders and the DTOs bound by Jackson</li>
+ * </ul>
+ */
+public class AppRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Implementation classes that {@code jjwt-api} instantiates through
+     * {@code io.jsonwebtoken.lang.Classes}. They live in the runtime-scoped
+     * {@code jjwt-impl} artifact and can only be referenced by name.
+     */
+    private static final List<String> JJWT_IMPL_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    /**
+     * Serializer/deserializer implementations discovered by jjwt through
+     * {@link java.util.ServiceLoader} from {@code jjwt-jackson}.
+     */
+    private static final List<String> JJWT_JACKSON_TYPES = List.of(
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerAuthorizationHints(hints);
+        registerJjwtHints(hints);
+        registerModelHints(hints);
+    }
+
+    /**
+     * The aspect's advice is invoked reflectively and the post processor walks
+     * the declared methods of every controller looking for the authorization
+     * annotations, so both sides need to be visible to reflection.
+     */
+    private void registerAuthorizationHints(RuntimeHints hints) {
+        hints.reflection()
+                .registerType(AuthorizeAspect.class, MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(AuthorizeAnnotationBeanPostProcessor.class,
+                        MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(Authorize.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(AuthorizeList.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        for (Class<?> controller : List.of(AuthController.class, UserController.class)) {
+            hints.reflection().registerType(controller, MemberCategory.INTROSPECT_DECLARED_METHODS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // The aspect autowires HttpServletRequest, which Spring resolves to a JDK
+        // proxy delegating to the current request
+        hints.proxies().registerJdkProxy(HttpServletRequest.class, Serializable.class);
+    }
+
+    /**
+     * jjwt resolves its implementation module by class name and looks up the
+     * Jackson serializer through the service loader.
+     */
+    private void registerJjwtHints(RuntimeHints hints) {
+        for (String type : JJWT_IMPL_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        for (String type : JJWT_JACKSON_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+
+    /**
+     * Lombok generates builders and accessors at compile time; Jackson binds
+     * the DTOs through those accessors at runtime.
+     */
+    private void registerModelHints(RuntimeHints hints) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), AuthRequest.class, AuthResponse.class);
+        hints.reflection()
+                .registerType(RequestContext.class, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(RequestContext.RequestContextBuilder.class, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,38 @@
+package com.authauz.authauz.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authauz.authauz.security.assertion.ContextAssertionCodec;
+import com.authauz.authauz.security.assertion.ContextAssertionInterceptor;
+
+/**
+ * Provides the internal context assertion codec and the client interceptor
+ * that attaches assertions to outgoing calls, when
+ * {@code com.authauz.authauz.assertion.enabled} is set. The verifying filter
+ * is added to the security chain by {@code AppAuthenticationConfigurer}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "com.authauz.authauz.assertion", name = "enabled", havingValue = "true")
+public class ContextAssertionConfiguration {
+
+    @Bean
+    ContextAssertionCodec contextAssertionCodec(AppConfigurationProperties properties) {
+        AppConfigurationProperties.AssertionConfiguration assertion = properties.getAssertion();
+        if (Objects.isNull(assertion.getSecret())) {
+            throw new IllegalStateException("Context assertions are enabled but no assertion secret is configured.");
+        }
+        return new ContextAssertionCodec(assertion.getSecret().getBytes(StandardCharsets.UTF_8),
+                assertion.getTtlSeconds());
+    }
+
+    @Bean
+    ContextAssertionInterceptor contextAssertionInterceptor(ContextAssertionCodec contextAssertionCodec,
+            AppConfigurationProperties properties) {
+        return new ContextAssertionInterceptor(contextAssertionCodec, properties.getAssertion().getHeader());
+    }
+}
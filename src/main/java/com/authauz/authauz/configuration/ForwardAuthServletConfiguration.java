@@ -0,0 +1,27 @@
+package com.authauz.authauz.configuration;
+
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authauz.authauz.security.forward.ForwardAuthServlet;
+
+/**
+ * Registers the {@link ForwardAuthServlet} next to the
+ * {@code DispatcherServlet}, on the path configured under
+ * {@code com.authauz.authauz.forward-auth}, and all paths below it.
+ */
+@Configuration
+public class ForwardAuthServletConfiguration {
+
+    @Bean
+    ServletRegistrationBean<ForwardAuthServlet> forwardAuthServlet(AppConfigurationProperties properties) {
+        String path = properties.getForwardAuth().getPath();
+        ServletRegistrationBean<ForwardAuthServlet> registration = new ServletRegistrationBean<>(
+                new ForwardAuthServlet(), path, path + "/*");
+        registration.setName("forwardAuth");
+        registration.setLoadOnStartup(1);
+        registration.setEnabled(properties.getForwardAuth().isEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.authauz.authauz.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authauz.authauz.utils.JtiGenerator;
+import com.authauz.authauz.utils.RandomJtiGenerator;
+import com.authauz.authauz.utils.TimeOrderedJtiGenerator;
+
+/**
+ * Provides the {@link JtiGenerator} used for token issuance, selected by
+ * {@code com.authauz.authauz.jwt.jti-strategy}.
+ */
+@Configuration
+public class JtiGeneratorConfiguration {
+
+    @Bean
+    JtiGenerator jtiGenerator(AppConfigurationProperties properties) {
+        return switch (properties.getJwt().getJtiStrategy()) {
+            case TIME_ORDERED -> new TimeOrderedJtiGenerator();
+            case RANDOM -> new RandomJtiGenerator();
+        };
+    }
+}
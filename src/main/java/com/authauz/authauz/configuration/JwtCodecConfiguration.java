@@ -0,0 +1,31 @@
+package com.authauz.authauz.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authauz.authauz.utils.FastJwtCodec;
+import com.authauz.authauz.utils.JjwtCodec;
+import com.authauz.authauz.utils.JwtCodec;
+import com.authauz.authauz.utils.TokenGate;
+
+/**
+ * Provides the {@link JwtCodec} used to sign and verify tokens, selected by
+ * {@code com.authauz.authauz.jwt.codec}. The jjwt codec is always kept as the
+ * fallback of the fast codec. Unless disabled under
+ * {@code com.authauz.authauz.jwt.gate}, the codec is fronted by the
+ * {@link TokenGate}.
+ */
+@Configuration
+public class JwtCodecConfiguration {
+
+    @Bean
+    JwtCodec jwtCodec(AppConfigurationProperties properties) {
+        JwtCodec jjwt = new JjwtCodec();
+        JwtCodec codec = switch (properties.getJwt().getCodec()) {
+            case FAST -> new FastJwtCodec(jjwt);
+            case JJWT -> jjwt;
+        };
+        return properties.getJwt().getGate().isEnabled() ? new TokenGate(codec, properties.getJwt().getGate())
+                : codec;
+    }
+}
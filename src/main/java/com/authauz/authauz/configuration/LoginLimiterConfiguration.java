@@ -0,0 +1,54 @@
+package com.authauz.authauz.configuration;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.authauz.authauz.limiter.GradientConcurrencyLimit;
+import com.authauz.authauz.limiter.LoginAdmissionFilter;
+import com.authauz.authauz.security.handler.ProblemResponses;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the adaptive concurrency limit of the login endpoint, configured
+ * under {@code com.authauz.authauz.login-limit}, as a servlet filter on
+ * {@code /auth} ahead of the security filter chain, and publishes its
+ * {@code authauz.login.limit}, {@code authauz.login.inflight} and
+ * {@code authauz.login.rejected} metrics.
+ */
+@Configuration
+public class LoginLimiterConfiguration {
+
+    @Bean
+    GradientConcurrencyLimit loginConcurrencyLimit(AppConfigurationProperties properties, MeterRegistry registry) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties.getLoginLimit());
+        Gauge.builder("authauz.login.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit of the login endpoint")
+                .register(registry);
+        Gauge.builder("authauz.login.inflight", limit, GradientConcurrencyLimit::getInflight)
+                .description("Login requests currently in flight")
+                .register(registry);
+        return limit;
+    }
+
+    @Bean
+    FilterRegistrationBean<LoginAdmissionFilter> loginAdmissionFilter(AppConfigurationProperties properties,
+            GradientConcurrencyLimit loginConcurrencyLimit, ProblemResponses problemResponses,
+            MeterRegistry registry) {
+        Counter rejections = Counter.builder("authauz.login.rejected")
+                .description("Login requests shed by the adaptive concurrency limit")
+                .register(registry);
+        LoginAdmissionFilter filter = new LoginAdmissionFilter(loginConcurrencyLimit, problemResponses, rejections,
+                String.valueOf(properties.getLoginLimit().getRetryAfterSeconds()));
+
+        FilterRegistrationBean<LoginAdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/auth");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(properties.getLoginLimit().isEnabled());
+        return registration;
+    }
+}
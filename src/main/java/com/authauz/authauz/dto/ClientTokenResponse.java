@@ -0,0 +1,25 @@
+package com.authauz.authauz.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Access token response of the client-credentials grant, in the field naming
+ * of RFC 6749 section 5.1.
+ */
+@Getter
+@Builder
+public class ClientTokenResponse {
+    @JsonProperty("access_token")
+    private String accessToken;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    @JsonProperty("expires_in")
+    private long expiresIn;
+
+    private String scope;
+}
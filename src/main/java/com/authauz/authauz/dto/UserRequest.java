@@ -0,0 +1,22 @@
+package com.authauz.authauz.dto;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRequest {
+    private String name;
+    private String email;
+    private UserType userType;
+    private Role role;
+}
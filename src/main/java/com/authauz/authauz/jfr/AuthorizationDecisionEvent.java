@@ -0,0 +1,38 @@
+package com.authauz.authauz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Authorization decision taken by {@code AuthorizeAspect} for an endpoint
+ * invocation.
+ */
+@Name("com.authauz.AuthorizationDecision")
+@Label("Authorization Decision")
+@Category({ "AuthAuz", "Authorization" })
+@Description("Scope check of the principal against the endpoint's policy")
+@StackTrace(false)
+@Enabled(false)
+public class AuthorizationDecisionEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Principal")
+    public String principal;
+
+    @Label("Scopes")
+    @Description("Scopes accepted by the endpoint")
+    public String scopes;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Reason")
+    public String reason;
+}
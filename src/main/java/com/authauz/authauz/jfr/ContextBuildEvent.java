@@ -0,0 +1,31 @@
+package com.authauz.authauz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Construction of the {@code RequestContext} of an authenticated user by
+ * {@code UserContextBuilder}.
+ */
+@Name("com.authauz.ContextBuild")
+@Label("Context Build")
+@Category({ "AuthAuz", "Authentication" })
+@Description("Resolution of the authenticated user's request context")
+@StackTrace(false)
+@Enabled(false)
+public class ContextBuildEvent extends Event {
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("User Type")
+    public String userType;
+
+    @Label("Role")
+    public String role;
+}
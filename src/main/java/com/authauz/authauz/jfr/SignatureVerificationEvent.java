@@ -0,0 +1,45 @@
+package com.authauz.authauz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Verification of a JWT's signature and validity period by the configured
+ * {@code JwtCodec}.
+ * <p>
+ * The codec is the one doing the verification, not the {@code TokenGate} in
+ * front of it. Tokens the gate turns away before they reach the codec are
+ * recorded with the {@link #GATED} outcome, so that they do not skew the
+ * verification timings.
+ */
+@Name("com.authauz.SignatureVerification")
+@Label("Signature Verification")
+@Category({ "AuthAuz", "Authentication" })
+@Description("Verification of a token through the JWT codec")
+@StackTrace(false)
+@Enabled(false)
+public class SignatureVerificationEvent extends Event {
+    public static final String VALID = "VALID";
+    public static final String INVALID = "INVALID";
+    public static final String GATED = "GATED";
+
+    @Label("Codec")
+    public String codec;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Token Age")
+    @Description("Time since the token was issued")
+    @Timespan(Timespan.SECONDS)
+    public long tokenAge;
+
+    @Label("Reason")
+    public String reason;
+}
@@ -0,0 +1,45 @@
+package com.authauz.authauz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Resolution of the request's authentication token into a principal by
+ * {@code CookieBasedAuthenticationFilter}, including the full
+ * {@code AuthenticationManager} call.
+ * <p>
+ * Like the other AuthAuz events it is disabled unless the recording settings
+ * enable it, e.g. with the bundled {@code jfr/authauz.jfc}. Callers follow the
+ * {@code begin()}/{@code end()}/{@code shouldCommit()} pattern and only fill
+ * fields for committed events, so a disabled event costs a few constant checks
+ * and an allocation the JIT eliminates.
+ */
+@Name("com.authauz.TokenResolution")
+@Label("Token Resolution")
+@Category({ "AuthAuz", "Authentication" })
+@Description("Extraction and authentication of the request token")
+@StackTrace(false)
+@Enabled(false)
+public class TokenResolutionEvent extends Event {
+    public static final String AUTHENTICATED = "AUTHENTICATED";
+    public static final String REJECTED = "REJECTED";
+    public static final String ABSENT = "ABSENT";
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Source")
+    @Description("Where the token was read from")
+    public String source;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Reason")
+    public String reason;
+}
@@ -0,0 +1,148 @@
+package com.authauz.authauz.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties.LoginLimitConfiguration;
+
+/**
+ * Adaptive concurrency limit driven by the latency gradient of the protected
+ * endpoint, in the style of TCP Vegas and Netflix's gradient limiter.
+ * <p>
+ * Completed requests are grouped into windows of {@code windowSize} samples.
+ * At the end of each window the limit is recomputed from the ratio between the
+ * long-term average round-trip time and the window's average:
+ * <ul>
+ * <li>when latency stays near its baseline the gradient is 1 and the limit
+ * grows by a queue allowance of {@code sqrt(limit)};</li>
+ * <li>when latency rises the gradient drops towards 0.5 and the limit shrinks
+ * proportionally;</li>
+ * <li>when a window contains a failed request (5xx or exception) the limit is
+ * cut multiplicatively, as in AIMD.</li>
+ * </ul>
+ * The limit only grows while the node actually uses at least half of it, so an
+ * idle period does not inflate it ahead of the next burst. The baseline decays
+ * faster while latency is far above it, so the limit recovers after a
+ * sustained shift instead of treating it as permanent congestion.
+ * <p>
+ * Admission is a lock-free compare-and-set on the in-flight counter. Samples
+ * are accumulated under a lock held for a few arithmetic operations, which is
+ * negligible next to the cost of a login.
+ */
+public class GradientConcurrencyLimit {
+    /** Weight of a window's average in the long-term round-trip baseline. */
+    private static final double LONG_RTT_WEIGHT = 0.05;
+    /** Decay applied to the baseline while latency is more than twice it. */
+    private static final double LONG_RTT_RECOVERY = 0.95;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final LoginLimitConfiguration config;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    private volatile int limit;
+
+    // Guarded by windowLock
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInflight;
+    private boolean windowDropped;
+
+    public GradientConcurrencyLimit(LoginLimitConfiguration config) {
+        this.config = config;
+        this.estimatedLimit = config.getInitialLimit();
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * Admits a request if fewer than {@link #getLimit()} requests are in
+     * flight. Every successful call must be paired with {@link #release}.
+     *
+     * @return True if the request may proceed.
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and records its round-trip time.
+     *
+     * @param rttNanos The time the request spent in flight.
+     * @param dropped  True if the request failed in a way that signals
+     *                 overload (server error or exception).
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+
+        windowLock.lock();
+        try {
+            windowRttNanos += rttNanos;
+            windowSamples++;
+            windowMaxInflight = Math.max(windowMaxInflight, inflightAtCompletion);
+            windowDropped |= dropped;
+
+            if (windowSamples >= config.getWindowSize()) {
+                updateLimit();
+            }
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /**
+     * @return The current concurrency limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of admitted requests still in flight.
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void updateLimit() {
+        double shortRttNanos = (double) windowRttNanos / windowSamples;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= LONG_RTT_RECOVERY;
+            }
+        }
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = estimatedLimit * config.getBackoffRatio();
+        } else if (windowMaxInflight < estimatedLimit / 2) {
+            // Application-limited: the window says nothing about capacity
+            newLimit = estimatedLimit;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT,
+                    Math.min(1.0, config.getRttTolerance() * longRttNanos / shortRttNanos));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - config.getSmoothing()) + target * config.getSmoothing();
+        }
+
+        estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+
+        windowRttNanos = 0;
+        windowSamples = 0;
+        windowMaxInflight = 0;
+        windowDropped = false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.authauz.authauz.limiter;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authauz.authauz.security.handler.ProblemResponses;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * LoginAdmissionFilter applies the {@link GradientConcurrencyLimit} to login
+ * requests ({@code POST /auth}).
+ * 
+ * It runs ahead of the security filter chain, so requests over the limit are
+ * shed with a pre-encoded 429 and a {@code Retry-After} header before any
+ * body parsing or password check. Admitted requests are timed until the
+ * response is complete and fed back into the limit.
+ */
+@RequiredArgsConstructor
+public class LoginAdmissionFilter extends OncePerRequestFilter {
+    private final GradientConcurrencyLimit limit;
+    private final ProblemResponses problemResponses;
+    private final Counter rejections;
+    private final String retryAfterSeconds;
+
+    /**
+     * Admits or sheds the request and records the round-trip time of admitted
+     * ones.
+     * 
+     * @param request     The HTTP request.
+     * @param response    The HTTP response.
+     * @param filterChain The filter chain to proceed with the next filter.
+     * @throws ServletException In case of servlet-related errors.
+     * @throws IOException      In case of I/O errors.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.tryAcquire()) {
+            rejections.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            problemResponses.write(response, HttpStatus.TOO_MANY_REQUESTS);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - startedAt, dropped);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.authauz.authauz.quota;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free keyed rate limiter implementing the generic cell rate algorithm
+ * (GCRA), the token bucket expressed as a single timestamp per key.
+ * <p>
+ * Each key holds its theoretical arrival time (TAT): the instant at which its
+ * bucket would be full again. Admitting a request pushes the TAT one emission
+ * interval ({@code period / limit}) later, with one compare-and-set; a request
+ * is rejected when the TAT would move more than a full period past now. This
+ * admits bursts of up to {@code limit} requests and {@code limit} per period on
+ * average.
+ * <p>
+ * A key whose TAT has passed is indistinguishable from an absent one, so idle
+ * entries can be evicted without changing any decision. When the map reaches
+ * {@code maxEntries}, one thread sweeps out every idle entry, at most once per
+ * period: every entry charged before the previous sweep is idle by the next
+ * one, so sweeping more often would scan the whole map to free little. Until
+ * room frees up, requests of new keys are rejected without scanning, so memory
+ * stays bounded and the cost per request stays constant whatever the number of
+ * keys. A request racing with the eviction of its own entry may be charged to
+ * the evicted copy, which at worst forgives that one request.
+ *
+ * @param <K> The key type.
+ */
+public final class GcraLimiter<K> {
+    private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    // Written only by the sweeping thread; nextSweepNanos is meaningless until swept
+    private volatile boolean swept;
+    private volatile long nextSweepNanos;
+    private final int limit;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int maxEntries;
+
+    /**
+     * @param limit       The number of requests admitted per period, and the
+     *                    burst size.
+     * @param periodNanos The period, in nanoseconds.
+     * @param maxEntries  The maximum number of keys tracked at once.
+     */
+    public GcraLimiter(int limit, long periodNanos, int maxEntries) {
+        if (limit <= 0 || periodNanos <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Limit, period and max entries must be positive");
+        }
+        this.limit = limit;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / limit);
+        this.toleranceNanos = emissionIntervalNanos * limit;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Tells whether a request of the key would be admitted, without charging
+     * it.
+     *
+     * @param key The key, e.g. a principal id.
+     * @param now The current {@link System#nanoTime()}.
+     * @return The decision {@link #acquire} would make, with the bucket's state
+     *         as it would be after the request.
+     */
+    public QuotaDecision check(K key, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (Objects.isNull(tat)) {
+            return buckets.size() >= maxEntries && !sweep(now) ? full(now) : decide(now, now);
+        }
+        return decide(tat.get(), now);
+    }
+
+    /**
+     * Charges one request to the key's bucket.
+     *
+     * @param key The key, e.g. a principal id.
+     * @param now The current {@link System#nanoTime()}.
+     * @return The decision, with the bucket's state after the request.
+     */
+    public QuotaDecision acquire(K key, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (Objects.isNull(tat)) {
+            if (buckets.size() >= maxEntries && !sweep(now)) {
+                return full(now);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = tat.get();
+            QuotaDecision decision = decide(current, now);
+            if (!decision.isAllowed() || tat.compareAndSet(current, Math.max(current, now) + emissionIntervalNanos)) {
+                return decision;
+            }
+        }
+    }
+
+    /**
+     * @return The number of keys currently tracked.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * @return The decision for a bucket at the given TAT if it is charged one
+     *         more request.
+     */
+    private QuotaDecision decide(long tat, long now) {
+        long debt = Math.max(tat, now) + emissionIntervalNanos - now;
+        if (debt > toleranceNanos) {
+            return new QuotaDecision(false, limit, 0, tat - now, debt - toleranceNanos);
+        }
+        return new QuotaDecision(true, limit, (int) ((toleranceNanos - debt) / emissionIntervalNanos), debt, 0);
+    }
+
+    /**
+     * @return The rejection of a new key while the map is full, retrying after
+     *         the next sweep.
+     */
+    private QuotaDecision full(long now) {
+        long untilSweep = Math.max(0, nextSweepNanos - now);
+        return new QuotaDecision(false, limit, 0, untilSweep, untilSweep);
+    }
+
+    /**
+     * Evicts the idle entries if the last sweep is at least a period old and
+     * no other thread is already doing so.
+     *
+     * @return True if there is room for a new key afterwards.
+     */
+    private boolean sweep(long now) {
+        if ((!swept || now - nextSweepNanos >= 0) && sweeping.compareAndSet(false, true)) {
+            try {
+                if (!swept || now - nextSweepNanos >= 0) {
+                    buckets.values().removeIf(tat -> tat.get() - now <= 0);
+                    nextSweepNanos = now + toleranceNanos;
+                    swept = true;
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+        return buckets.size() < maxEntries;
+    }
+}
@@ -0,0 +1,78 @@
+package com.authauz.authauz.quota;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The outcome of charging a request to a quota, rendered as the
+ * {@code RateLimit-*} headers of the IETF rate limit header fields draft.
+ */
+public final class QuotaDecision {
+    private final boolean allowed;
+    private final int limit;
+    private final int remaining;
+    private final long resetNanos;
+    private final long retryAfterNanos;
+
+    QuotaDecision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetNanos = resetNanos;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    /**
+     * @return True if the request fits in the quota.
+     */
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    /**
+     * @return The number of requests the quota admits per period.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of requests that can still be made right away.
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * @return Nanoseconds until the quota is fully replenished.
+     */
+    public long getResetNanos() {
+        return resetNanos;
+    }
+
+    /**
+     * @return Nanoseconds until a rejected request would fit, 0 if allowed.
+     */
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+
+    /**
+     * Sets {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+     * {@code RateLimit-Reset}, plus {@code Retry-After} when rejected. Times are
+     * rounded up to whole seconds.
+     *
+     * @param response The response to decorate.
+     */
+    public void writeHeaders(HttpServletResponse response) {
+        response.setHeader("RateLimit-Limit", Integer.toString(limit));
+        response.setHeader("RateLimit-Remaining", Integer.toString(remaining));
+        response.setHeader("RateLimit-Reset", Long.toString(ceilSeconds(resetNanos)));
+        if (!allowed) {
+            response.setHeader("Retry-After", Long.toString(Math.max(1, ceilSeconds(retryAfterNanos))));
+        }
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+}
@@ -0,0 +1,134 @@
+package com.authauz.authauz.quota;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.QuotaConfiguration;
+import com.authauz.authauz.configuration.AppConfigurationProperties.QuotaConfiguration.QuotaLimit;
+import com.authauz.authauz.configuration.AppConfigurationProperties.QuotaConfiguration.ScopeQuota;
+import com.authauz.authauz.security.exception.QuotaExceededException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enforces request quotas per endpoint scope, for each principal and for each
+ * user type and role, so that one noisy account or tenant cannot starve the
+ * others sharing a node.
+ * <p>
+ * Quotas are looked up by the scope that granted the request, as configured
+ * under {@code com.authauz.authauz.quota.scopes}. Each configured scope gets a
+ * {@link GcraLimiter} keyed by user id, bounded by {@code max-principals}, and
+ * one keyed by user type and role. A request must fit in both, and is charged
+ * to neither otherwise. Concurrent requests may all pass the check before
+ * any is charged, so the charge decides again: under that race a request can
+ * still be charged to its principal and then rejected by its group.
+ * <p>
+ * Quotas are disabled by default: the group quotas are shared by every user of
+ * a type and role on the node, so their limits must be sized for the
+ * deployment before enabling them.
+ */
+@Slf4j
+@Component
+public class QuotaEnforcer {
+    private final Map<String, ScopeLimiters> limiters = new HashMap<>();
+
+    public QuotaEnforcer(AppConfigurationProperties properties) {
+        QuotaConfiguration config = properties.getQuota();
+        if (!config.isEnabled()) {
+            return;
+        }
+        config.getScopes().forEach((scope, quota) -> {
+            limiters.put(scope, new ScopeLimiters(limiter(quota.getPrincipal(), config.getMaxPrincipals()),
+                    limiter(quota.getGroup(), Integer.MAX_VALUE)));
+            log.info("Quota for scope {}: {} per principal, {} per user type and role", scope,
+                    describe(quota.getPrincipal()), describe(quota.getGroup()));
+        });
+    }
+
+    /**
+     * Charges an authorized request to the quotas of the scope that granted
+     * it.
+     *
+     * @param ctx   The authenticated user context.
+     * @param scope The granting scope.
+     * @return The decision of the tightest quota, or null if the scope has no
+     *         quota.
+     * @throws QuotaExceededException If a quota is exhausted.
+     */
+    public QuotaDecision enforce(RequestContext ctx, String scope) {
+        ScopeLimiters scoped = limiters.get(scope);
+        if (Objects.isNull(scoped)) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        UUID principal = ctx.getUserId();
+        // Service clients have no user type or role to group by
+        Integer group = Objects.isNull(scoped.groups) || ctx.isServiceClient() ? null
+                // Boxed ordinals below 128 come from the Integer cache
+                : ctx.getUserType().ordinal() * Role.values().length + ctx.getRole().ordinal();
+
+        // Check both quotas before charging either, so that a request turned
+        // away by one does not use up the other
+        if (Objects.nonNull(scoped.principals)) {
+            requireAllowed(scoped.principals.check(principal, now), ctx, scope, false);
+        }
+        if (Objects.nonNull(group)) {
+            requireAllowed(scoped.groups.check(group, now), ctx, scope, true);
+        }
+
+        QuotaDecision decision = null;
+        if (Objects.nonNull(scoped.principals)) {
+            decision = requireAllowed(scoped.principals.acquire(principal, now), ctx, scope, false);
+        }
+        if (Objects.nonNull(group)) {
+            QuotaDecision charged = requireAllowed(scoped.groups.acquire(group, now), ctx, scope, true);
+            if (Objects.isNull(decision) || charged.getRemaining() < decision.getRemaining()) {
+                decision = charged;
+            }
+        }
+        return decision;
+    }
+
+    private static QuotaDecision requireAllowed(QuotaDecision decision, RequestContext ctx, String scope,
+            boolean group) {
+        if (decision.isAllowed()) {
+            return decision;
+        }
+        if (group) {
+            throw new QuotaExceededException("Quota exceeded: " + ctx.getUserType() + " " + ctx.getRole()
+                    + " exceeded the group quota of scope " + scope, decision);
+        }
+        throw new QuotaExceededException("Quota exceeded: User with ID: " + ctx.getUserId()
+                + " exceeded the per-principal quota of scope " + scope, decision);
+    }
+
+    private static <K> GcraLimiter<K> limiter(QuotaLimit limit, int maxEntries) {
+        if (Objects.isNull(limit) || limit.getLimit() <= 0) {
+            return null;
+        }
+        return new GcraLimiter<>(limit.getLimit(), limit.getPeriod().toNanos(), maxEntries);
+    }
+
+    private static String describe(QuotaLimit limit) {
+        return Objects.isNull(limit) || limit.getLimit() <= 0 ? "unlimited"
+                : limit.getLimit() + "/" + limit.getPeriod();
+    }
+
+    private static final class ScopeLimiters {
+        private final GcraLimiter<UUID> principals;
+        private final GcraLimiter<Integer> groups;
+
+        ScopeLimiters(GcraLimiter<UUID> principals, GcraLimiter<Integer> groups) {
+            this.principals = principals;
+            this.groups = groups;
+        }
+    }
+}
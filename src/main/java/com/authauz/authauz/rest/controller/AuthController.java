@@ -1,18 +1,26 @@
 package com.authauz.authauz.rest.controller;
 
+import java.util.Map;
+import java.util.Objects;
+
 import org.apache.tomcat.util.http.SameSiteCookies;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.authauz.authauz.configuration.AppConfigurationProperties;
 import com.authauz.authauz.dto.AuthRequest;
 import com.authauz.authauz.security.annotation.Authorize;
 import com.authauz.authauz.service.impl.AuthService;
+import com.authauz.authauz.service.impl.ClientCredentialsService;
 
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthController {
     private final AppConfigurationProperties properties;
     private final AuthService authService;
+    private final ClientCredentialsService clientCredentialsService;
 
     @PostMapping("")
     @Authorize(bypass = true)
@@ -50,4 +59,25 @@ public class AuthController {
             return ResponseEntity.status(401).body("Authentication failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Client-credentials grant for registered service clients. The token is
+     * returned in the body, to be sent back as an {@code Authorization: Bearer}
+     * header, and no cookie is set.
+     */
+    @PostMapping(value = "token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Authorize(bypass = true)
+    public ResponseEntity<Object> token(@RequestParam(name = "grant_type", required = false) String grantType,
+            @RequestParam(name = "client_id", required = false) String clientId,
+            @RequestParam(name = "client_secret", required = false) String clientSecret) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(clientCredentialsService.issueToken(grantType, clientId, clientSecret));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .cacheControl(CacheControl.noStore())
+                    .body(Objects.isNull(e.getReason()) ? null : Map.of("error", e.getReason()));
+        }
+    }
 }
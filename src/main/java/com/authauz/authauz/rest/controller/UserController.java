@@ -1,18 +1,32 @@
 package com.authauz.authauz.rest.controller;
 
+import java.io.InputStream;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.dto.UserRequest;
 import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.Condition;
+import com.authauz.authauz.security.annotation.PrincipalAttribute;
+import com.authauz.authauz.service.impl.UserImportService;
 import com.authauz.authauz.service.impl.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,37 +36,50 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @PostMapping("")
     @Authorize(scope = AppScopes.CUSTOMER_ALL)
     @Authorize(scope = AppScopes.SELLER_ADMIN)
-    public ResponseEntity<Object> createUser() {
-        var users = userService.getUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Object> createUser(@RequestBody UserRequest request) {
+        var user = userService.createUser(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(user);
+    }
+
+    @Authorize(scope = AppScopes.SELLER_ADMIN)
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        var results = userImportService.importUsers(body, MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
     }
 
     @Authorize(scope = AppScopes.SELLER_ADMIN)
     @Authorize(scope = AppScopes.SELLER_MARKETING)
     @GetMapping("")
-    public ResponseEntity<Object> getUsers() {
-        var users = userService.getUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<StreamingResponseBody> getUsers(@RequestParam(required = false) UserType userType,
+            @RequestParam(required = false) Role role, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        var users = userService.getUsers(userType, role, cursor, limit);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(users);
     }
 
     @Authorize(scope = AppScopes.SELLER_ALL)
     @GetMapping("/{id}")
     public ResponseEntity<Object> getUser(@PathVariable UUID id) {
-        var users = userService.getUser(id);
-        return ResponseEntity.ok(users);
+        var user = userService.getUser(id);
+        return ResponseEntity.ok(user);
     }
 
-    @Authorize(scope = AppScopes.CUSTOMER_ALL)
+    @Authorize(scope = AppScopes.CUSTOMER_ALL,
+            conditions = @Condition(principal = PrincipalAttribute.USER_ID, param = "id"))
     @Authorize(scope = AppScopes.SELLER_ADMIN)
     @Authorize(scope = AppScopes.SELLER_CSR)
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable UUID id) {
-        var users = userService.updateUser(id);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Object> updateUser(@PathVariable UUID id, @RequestBody UserRequest request) {
+        var user = userService.updateUser(id, request);
+        return ResponseEntity.ok(user);
     }
 
     @Authorize(scope = AppScopes.SELLER_ADMIN)
@@ -15,4 +15,10 @@ public @interface Authorize {
     AppScopes scope() default AppScopes.NONE;
 
     boolean bypass() default false;
+
+    /**
+     * @return Conditions that must all hold, in addition to the scope, for this
+     *         annotation to grant access.
+     */
+    Condition[] conditions() default {};
 }
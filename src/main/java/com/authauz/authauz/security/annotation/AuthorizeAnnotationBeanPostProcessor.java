@@ -7,29 +7,59 @@ import java.util.Objects;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.authauz.authauz.security.policy.EndpointPolicyRegistry;
+
 /**
  * A BeanPostProcessor that validates the usage of custom authorization
  * annotations
  * {@link Authorize} and {@link AuthorizeList} during application startup.
  * Ensures that methods in beans annotated with {@link RestController} use these
  * annotations correctly by following the validation rules.
+ * <p>
+ * Controllers compiled with the {@code AuthorizeProcessor} are validated at
+ * build time and listed in the generated {@code SecurityManifest}; they are
+ * skipped here, so only controllers outside the manifest are scanned
+ * reflectively. Conditions are compiled for every controller, see
+ * {@link #resolvePolicies(Class)}.
  */
 @Component
 public class AuthorizeAnnotationBeanPostProcessor implements BeanPostProcessor {
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        Class<?> beanClass = bean.getClass();
+        // Look through CGLIB proxies to the declared controller class
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
 
-        // Check if the bean is a REST controller
-        if (beanClass.isAnnotationPresent(RestController.class)) {
+        // Check if the bean is a REST controller that was not already validated at
+        // compile time by the AuthorizeProcessor
+        if (!beanClass.isAnnotationPresent(RestController.class)) {
+            return bean;
+        }
+        if (!EndpointPolicyRegistry.isInManifest(beanClass)) {
             validateAnnotationsOnMethods(beanClass, beanName);
         }
+        resolvePolicies(beanClass);
 
         return bean;
     }
 
+    /**
+     * Resolves the policy of every annotated method, compiling the
+     * {@link Condition}s of its scopes, so that invalid conditions fail startup
+     * and requests find their policies already cached.
+     *
+     * @param beanClass the class of the bean
+     */
+    private void resolvePolicies(Class<?> beanClass) {
+        for (Method method : beanClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(AuthorizeList.class) || method.isAnnotationPresent(Authorize.class)) {
+                EndpointPolicyRegistry.policyFor(method);
+            }
+        }
+    }
+
     /**
      * Validates the {@link Authorize} and {@link AuthorizeList} annotations on all
      * declared methods of the provided bean class.
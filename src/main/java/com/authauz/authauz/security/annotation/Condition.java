@@ -0,0 +1,53 @@
+package com.authauz.authauz.security.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An attribute-based condition attached to an {@link Authorize} scope. The
+ * scope only grants access when all of its conditions hold.
+ * <p>
+ * A condition compares an attribute of the authenticated principal either with
+ * a handler method parameter, named by {@link #param()}, or with a literal
+ * {@link #value()}; exactly one of the two must be set. For example, a
+ * customer may only update their own record:
+ *
+ * <pre>
+ * &#64;Authorize(scope = AppScopes.CUSTOMER_ALL,
+ *         conditions = &#64;Condition(principal = PrincipalAttribute.USER_ID, param = "id"))
+ * public ResponseEntity&lt;Object&gt; updateUser(&#64;PathVariable UUID id)
+ * </pre>
+ *
+ * Conditions are validated and compiled into predicates at startup, so
+ * evaluating them costs a field read and an {@code equals} per request.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Condition {
+    /**
+     * @return The principal attribute to compare.
+     */
+    PrincipalAttribute principal();
+
+    /**
+     * @return The name of the handler method parameter to compare the attribute
+     *         with. Its type must be the attribute's type.
+     */
+    String param() default "";
+
+    /**
+     * @return A literal to compare the attribute with, parsed at startup.
+     */
+    String value() default "";
+
+    /**
+     * @return The comparison to apply.
+     */
+    Operator op() default Operator.EQ;
+
+    enum Operator {
+        EQ,
+        NE
+    }
+}
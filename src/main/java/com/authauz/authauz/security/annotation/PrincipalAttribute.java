@@ -0,0 +1,54 @@
+package com.authauz.authauz.security.annotation;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+
+/**
+ * The attributes of the authenticated {@link RequestContext} that a
+ * {@link Condition} can compare, each with its accessor and the parser of its
+ * literal form.
+ */
+public enum PrincipalAttribute {
+    USER_ID(UUID.class, RequestContext::getUserId, UUID::fromString),
+    USER_TYPE(UserType.class, RequestContext::getUserType, v -> UserType.valueOf(v.toUpperCase(Locale.ROOT))),
+    ROLE(Role.class, RequestContext::getRole, v -> Role.valueOf(v.toUpperCase(Locale.ROOT)));
+
+    private final Class<?> type;
+    private final Function<RequestContext, Object> accessor;
+    private final Function<String, Object> parser;
+
+    PrincipalAttribute(Class<?> type, Function<RequestContext, Object> accessor, Function<String, Object> parser) {
+        this.type = type;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+
+    /**
+     * @return The type of the attribute's values.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @param ctx The authenticated user context.
+     * @return The attribute's value for the principal.
+     */
+    public Object read(RequestContext ctx) {
+        return accessor.apply(ctx);
+    }
+
+    /**
+     * @param literal The literal form of a value.
+     * @return The parsed value.
+     * @throws IllegalArgumentException If the literal is not a valid value.
+     */
+    public Object parse(String literal) {
+        return parser.apply(literal);
+    }
+}
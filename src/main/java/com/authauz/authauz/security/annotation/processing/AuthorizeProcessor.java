@@ -0,0 +1,288 @@
+package com.authauz.authauz.security.annotation.processing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Compile-time counterpart of {@code AuthorizeAnnotationBeanPostProcessor}.
+ * <p>
+ * Validates every {@code @Authorize}/{@code @AuthorizeList} usage with the same
+ * rules as the post processor, failing the build on violations, and generates
+ * {@code com.authauz.authauz.security.policy.SecurityManifest}: a static table
+ * from each annotated method, keyed as
+ * {@code declaringClass#method(paramType,...)} with binary class names, to its
+ * endpoint policy, plus the set of {@code @RestController} classes it covers
+ * and the keys of methods with {@code @Condition}s, whose policies are compiled
+ * at startup instead.
+ * <p>
+ * The processor reads annotations through the language model only, so it does
+ * not depend on the annotation classes and is compiled on its own ahead of the
+ * rest of the sources (see the {@code compile-annotation-processor} execution
+ * in the pom).
+ */
+@SupportedAnnotationTypes({
+        AuthorizeProcessor.AUTHORIZE,
+        AuthorizeProcessor.AUTHORIZE_LIST,
+        AuthorizeProcessor.REST_CONTROLLER })
+public class AuthorizeProcessor extends AbstractProcessor {
+    static final String AUTHORIZE = "com.authauz.authauz.security.annotation.Authorize";
+    static final String AUTHORIZE_LIST = "com.authauz.authauz.security.annotation.AuthorizeList";
+    static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+
+    private static final String MANIFEST_PACKAGE = "com.authauz.authauz.security.policy";
+    private static final String MANIFEST_CLASS = "SecurityManifest";
+    private static final String NO_SCOPE = "NONE";
+
+    private final Map<String, String> policies = new TreeMap<>();
+    private final Set<String> controllers = new TreeSet<>();
+    private final Set<String> conditional = new TreeSet<>();
+    private boolean written;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (written) {
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            String name = annotation.getQualifiedName().toString();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (REST_CONTROLLER.equals(name) && element.getKind() == ElementKind.CLASS) {
+                    controllers.add(binaryName((TypeElement) element));
+                } else if (element.getKind() == ElementKind.METHOD) {
+                    collect((ExecutableElement) element);
+                }
+            }
+        }
+
+        if (!annotations.isEmpty()) {
+            writeManifest();
+            written = true;
+        }
+        return false;
+    }
+
+    /**
+     * Validates the annotations of a method and records its policy. A method
+     * carrying a single {@code @Authorize} is reported under that annotation,
+     * a repeated one under the {@code @AuthorizeList} container, mirroring the
+     * post processor.
+     */
+    private void collect(ExecutableElement method) {
+        String key = methodKey(method);
+        if (policies.containsKey(key) || conditional.contains(key)) {
+            return;
+        }
+
+        AnnotationMirror list = findAnnotation(method, AUTHORIZE_LIST);
+        AnnotationMirror single = findAnnotation(method, AUTHORIZE);
+        List<AnnotationMirror> entries = new ArrayList<>();
+        if (Objects.nonNull(list)) {
+            for (AnnotationValue value : arrayValue(list, "value")) {
+                entries.add((AnnotationMirror) value.getValue());
+            }
+        } else if (Objects.nonNull(single)) {
+            entries.add(single);
+        } else {
+            return;
+        }
+
+        List<String> scopes = entries.stream().map(el -> enumValue(el, "scope")).collect(Collectors.toList());
+        boolean containsBypass = entries.stream().anyMatch(el -> booleanValue(el, "bypass"));
+        // Like the post processor: any entry of a list counts as a scope, a
+        // single annotation only if its scope is set
+        boolean containsScope = Objects.nonNull(list) || !NO_SCOPE.equals(scopes.get(0));
+
+        if (!validate(containsScope, containsBypass, method)) {
+            return;
+        }
+
+        boolean hasConditions = false;
+        for (AnnotationMirror entry : entries) {
+            for (AnnotationValue value : arrayValue(entry, "conditions")) {
+                hasConditions = true;
+                if (!validateCondition((AnnotationMirror) value.getValue(), method)) {
+                    return;
+                }
+            }
+        }
+        if (hasConditions) {
+            // Compiled into predicates at startup, see EndpointPolicyRegistry
+            conditional.add(key);
+            return;
+        }
+
+        policies.put(key, containsBypass
+                ? "EndpointPolicy.bypass()"
+                : scopes.stream().map(el -> "AppScopes." + el)
+                        .collect(Collectors.joining(", ", "EndpointPolicy.ofScopes(", ")")));
+    }
+
+    private boolean validate(boolean containsScope, boolean containsBypass, ExecutableElement method) {
+        String methodName = method.getSimpleName().toString();
+        String className = binaryName((TypeElement) method.getEnclosingElement());
+        if (containsScope && containsBypass) {
+            error(method, String.format("The method '%s' in bean '%s' cannot have both 'scope' and 'bypass' set "
+                    + "simultaneously in the '@Authorize' annotation.", methodName, className));
+            return false;
+        }
+        if (!containsScope && !containsBypass) {
+            error(method, String.format("The method '%s' in bean '%s' must have either 'scope' or 'bypass' set "
+                    + "in the '@Authorize' annotation.", methodName, className));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the shape of a {@code @Condition}: exactly one of {@code param}
+     * and {@code value} is set, and {@code param} names a parameter of the
+     * method. Types and literals are checked when the condition is compiled at
+     * startup.
+     */
+    private boolean validateCondition(AnnotationMirror condition, ExecutableElement method) {
+        String param = (String) value(condition, "param").getValue();
+        String literal = (String) value(condition, "value").getValue();
+        String methodName = method.getSimpleName().toString();
+        String className = binaryName((TypeElement) method.getEnclosingElement());
+        if (param.isEmpty() == literal.isEmpty()) {
+            error(method, String.format("A condition of the '@Authorize' annotation on method '%s' in '%s' must set "
+                    + "exactly one of 'param' and 'value'.", methodName, className));
+            return false;
+        }
+        if (!param.isEmpty() && method.getParameters().stream()
+                .noneMatch(el -> el.getSimpleName().contentEquals(param))) {
+            error(method, String.format("A condition of the '@Authorize' annotation on method '%s' in '%s' refers to "
+                    + "unknown parameter '%s'.", methodName, className, param));
+            return false;
+        }
+        return true;
+    }
+
+    private void writeManifest() {
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(MANIFEST_PACKAGE + "." + MANIFEST_CLASS)
+                .openWriter()) {
+            writer.write("package " + MANIFEST_PACKAGE + ";\n\n");
+            writer.write("import java.util.Map;\n");
+            writer.write("import java.util.Set;\n\n");
+            writer.write("import javax.annotation.processing.Generated;\n\n");
+            writer.write("import com.authauz.authauz.common.AppScopes;\n\n");
+            writer.write("/**\n * Endpoint policies declared with {@code @Authorize}, generated at compile time.\n */\n");
+            writer.write("@Generated(\"" + AuthorizeProcessor.class.getName() + "\")\n");
+            writer.write("public final class " + MANIFEST_CLASS + " {\n");
+            writer.write("    public static final Map<String, EndpointPolicy> POLICIES = Map.ofEntries(");
+            writer.write(policies.entrySet().stream()
+                    .map(e -> "\n            Map.entry(\"" + e.getKey() + "\", " + e.getValue() + ")")
+                    .collect(Collectors.joining(",")));
+            writer.write(");\n\n");
+            writer.write("    public static final Set<String> CONTROLLERS = Set.of(");
+            writer.write(controllers.stream()
+                    .map(el -> "\n            \"" + el + "\"")
+                    .collect(Collectors.joining(",")));
+            writer.write(");\n\n");
+            writer.write("    public static final Set<String> CONDITIONAL = Set.of(");
+            writer.write(conditional.stream()
+                    .map(el -> "\n            \"" + el + "\"")
+                    .collect(Collectors.joining(",")));
+            writer.write(");\n\n");
+            writer.write("    private " + MANIFEST_CLASS + "() {\n    }\n}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write the security manifest: " + e.getMessage());
+        }
+    }
+
+    private String methodKey(ExecutableElement method) {
+        return binaryName((TypeElement) method.getEnclosingElement()) + "#" + method.getSimpleName()
+                + method.getParameters().stream()
+                        .map(el -> typeName(el.asType()))
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * Renders a parameter type the way {@link Class#getTypeName()} does for
+     * its erasure.
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        switch (erased.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED:
+                return binaryName((TypeElement) ((DeclaredType) erased).asElement());
+            default:
+                return erased.toString();
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv
+                .getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        throw new IllegalStateException("Missing annotation attribute " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> arrayValue(AnnotationMirror mirror, String name) {
+        return (List<? extends AnnotationValue>) value(mirror, name).getValue();
+    }
+
+    private String enumValue(AnnotationMirror mirror, String name) {
+        return ((VariableElement) value(mirror, name).getValue()).getSimpleName().toString();
+    }
+
+    private boolean booleanValue(AnnotationMirror mirror, String name) {
+        return (Boolean) value(mirror, name).getValue();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
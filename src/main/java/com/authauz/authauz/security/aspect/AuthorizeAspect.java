@@ -1,28 +1,34 @@
 package com.authauz.authauz.security.aspect;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import com.authauz.authauz.audit.AuditEvent;
+import com.authauz.authauz.audit.AuditEventType;
+import com.authauz.authauz.audit.AuditLogger;
+import com.authauz.authauz.audit.AuditOutcome;
 import com.authauz.authauz.common.RequestContext;
-import com.authauz.authauz.configuration.AppConfigurationProperties;
-import com.authauz.authauz.security.annotation.Authorize;
-import com.authauz.authauz.security.annotation.AuthorizeList;
+import com.authauz.authauz.jfr.AuthorizationDecisionEvent;
+import com.authauz.authauz.quota.QuotaDecision;
+import com.authauz.authauz.quota.QuotaEnforcer;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.exception.ForbiddenException;
+import com.authauz.authauz.security.exception.QuotaExceededException;
+import com.authauz.authauz.security.exception.UnauthenticatedException;
+import com.authauz.authauz.security.policy.EndpointPolicy;
+import com.authauz.authauz.security.policy.EndpointPolicyRegistry;
+import com.authauz.authauz.shadow.ShadowPolicyEvaluator;
 
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -32,16 +38,21 @@ import lombok.RequiredArgsConstructor;
  * permissions.
  * 
  * The aspect ensures that user authentication and authorization
- * are handled before proceeding with the actual method invocation.
+ * are handled before proceeding with the actual method invocation. Authorized
+ * requests are then charged to the quotas of the granting scope, see
+ * {@link QuotaEnforcer}.
+ * 
+ * The principal, the request line and the bypass decision are all read from
+ * {@link PrincipalScope}, so the aspect never touches the request itself.
  */
 
 @Component
 @Aspect
 @RequiredArgsConstructor
 public class AuthorizeAspect {
-    private final HttpServletRequest request;
-    private final AppConfigurationProperties properties;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AuditLogger auditLogger;
+    private final QuotaEnforcer quotaEnforcer;
+    private final ShadowPolicyEvaluator shadowPolicyEvaluator;
 
     /**
      * Pointcut that matches methods annotated with @Authorize or methods within
@@ -68,96 +79,134 @@ public class AuthorizeAspect {
      */
     @Around("authorizationPointcut()")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = System.nanoTime();
+        AuthorizationDecisionEvent event = new AuthorizationDecisionEvent();
+        event.begin();
 
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
-        List<String> allowedScopes = List.of();
-
-        // Skip authorization checks for system endpoints (e.g., Swagger API docs)
-        if (isAuthBypassedForEndpoint()) {
+        EndpointPolicy policy = EndpointPolicyRegistry.policyFor(method);
+        List<String> allowedScopes = policy.getScopes();
+
+        // Skip authorization checks for system endpoints (e.g., Swagger API docs),
+        // as matched by the authentication filter, and for methods annotated with
+        // @Authorize(bypass = true)
+        if (PrincipalScope.isBypassed() || policy.isBypass()) {
+            audit(event, AuditOutcome.BYPASSED, PrincipalScope.currentContext(), allowedScopes, startedAt, null);
             return joinPoint.proceed();
         }
 
-        // Handle method-specific authorization based on annotations
-        if (method.isAnnotationPresent(Authorize.class)) {
-            Authorize authorize = method.getAnnotation(Authorize.class);
-
-            // If the @Authorize annotation specifies bypass, skip authorization
-            if (authorize.bypass()) {
-                return joinPoint.proceed();
-            }
-
-            allowedScopes = List.of(authorize.scope().getValue());
-        } else if (method.isAnnotationPresent(AuthorizeList.class)) {
-            AuthorizeList authorizeList = method.getAnnotation(AuthorizeList.class);
-            allowedScopes = Arrays.stream(authorizeList.value())
-                    .map(el -> el.scope().getValue())
-                    .collect(Collectors.toList());
+        RequestContext ctx = null;
+        try {
+            ctx = handleAuthentication();
+            String scope = handleAuthorization(method, ctx, policy, joinPoint.getArgs());
+            handleQuota(ctx, scope);
+        } catch (RuntimeException e) {
+            audit(event, AuditOutcome.DENIED, ctx, allowedScopes, startedAt, e.getMessage());
+            throw e;
         }
-
-        handleAuthentication();
-        handleAuthorization(allowedScopes);
+        audit(event, AuditOutcome.GRANTED, ctx, allowedScopes, startedAt, null);
 
         return joinPoint.proceed();
     }
 
     /**
-     * Verifies that the user is authenticated. If not, throws a SecurityException.
+     * Verifies that the user is authenticated. If not, throws an
+     * {@link UnauthenticatedException}.
+     * 
+     * @return The authenticated user context bound by the authentication filter.
      */
-    private void handleAuthentication() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (Objects.isNull(authentication) || !authentication.isAuthenticated()) {
+    private RequestContext handleAuthentication() {
+        RequestContext ctx = PrincipalScope.currentContext();
+        if (Objects.isNull(ctx)) {
             // Authentication is not valid, throw an exception
-            throw new SecurityException("Unauthorized access: User is not authenticated");
+            throw new UnauthenticatedException("Unauthorized access: User is not authenticated");
         }
+        return ctx;
     }
 
     /**
      * Verifies if the authenticated user has the necessary permissions (scopes)
      * to access the requested resource. It compares the user's type and role
-     * with the allowed scopes and throws an exception if authorization fails.
+     * with the allowed scopes, evaluating the conditions of conditional scopes
+     * against the invocation arguments, and throws an exception if authorization
+     * fails.
      * 
-     * @param allowedScopes The list of scopes required for the method.
+     * The decision is also offered to the {@link ShadowPolicyEvaluator}.
+     * 
+     * @param method The handler method.
+     * @param ctx    The authenticated user context.
+     * @param policy The policy declared on the method.
+     * @param args   The arguments of the handler invocation.
+     * @return The scope that granted access.
      */
-    private void handleAuthorization(List<String> allowedScopes) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        RequestContext ctx = (RequestContext) Optional.ofNullable(authentication)
-                .map(Authentication::getPrincipal)
-                .orElse(null);
-
-        if (Objects.isNull(ctx)) {
-            throw new RuntimeException("Unauthorized: No user context found");
-        }
-
+    private String handleAuthorization(Method method, RequestContext ctx, EndpointPolicy policy, Object[] args) {
         // Check if the user has the necessary permissions for any of the allowed scopes
-        for (String allowedScope : allowedScopes) {
-            String[] allowedScopeParts = allowedScope.split(":");
-
-            if (allowedScopeParts[0].equalsIgnoreCase(ctx.getUserType().toString())
-                    && (allowedScopeParts[1].equals("*")
-                            || allowedScopeParts[1].equalsIgnoreCase(ctx.getRole().toString()))) {
-                return;
-            }
+        String scope = policy.grantingScope(ctx, args);
+        shadowPolicyEvaluator.observe(method, ctx, Objects.nonNull(scope));
+        if (Objects.nonNull(scope)) {
+            return scope;
         }
 
         // If no match is found, throw an authorization failure exception
-        throw new RuntimeException("Authorization failed: User " + ctx.getUserType() + " with ID: "
+        throw new ForbiddenException("Authorization failed: User " + ctx.getUserType() + " with ID: "
                 + ctx.getUserId() + " attempted to access an endpoint without the necessary permissions.");
     }
 
     /**
-     * Checks if the current endpoint is exempt from authentication based on the
-     * configured list of bypassed endpoints in the application properties.
-     * 
-     * @return True if authentication should be bypassed for the current endpoint.
+     * Charges the request to the quotas of the granting scope, throwing a
+     * {@link QuotaExceededException} if one is exhausted, and reports the
+     * remaining quota in {@code RateLimit-*} response headers.
+     *
+     * @param ctx   The authenticated user context.
+     * @param scope The scope that granted access.
+     */
+    private void handleQuota(RequestContext ctx, String scope) {
+        QuotaDecision decision = quotaEnforcer.enforce(ctx, scope);
+        if (Objects.nonNull(decision)
+                && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && Objects.nonNull(attributes.getResponse())) {
+            decision.writeHeaders(attributes.getResponse());
+        }
+    }
+
+    /**
+     * Records the authorization decision as a JFR event and in the security audit
+     * log. Building either is skipped entirely when it is disabled.
+     *
+     * @param event         The JFR event begun when the check started.
+     * @param outcome       The decision taken for the current request.
+     * @param ctx           The authenticated user context, or null.
+     * @param allowedScopes The scopes the endpoint requires.
+     * @param startedAt     The {@link System#nanoTime()} at which the check
+     *                      started.
+     * @param reason        The failure reason, or null.
      */
-    private boolean isAuthBypassedForEndpoint() {
-        List<String> NO_AUTH_EP = Optional.ofNullable(properties.getAuth())
-                .map(el -> properties.getAuth().getBypass())
-                .map(el -> properties.getAuth().getBypass().getEndpoints())
-                .orElse(List.of());
-
-        return NO_AUTH_EP.stream()
-                .anyMatch(ep -> pathMatcher.match(ep, request.getRequestURL().toString()));
+    private void audit(AuthorizationDecisionEvent event, AuditOutcome outcome, RequestContext ctx,
+            List<String> allowedScopes, long startedAt, String reason) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = PrincipalScope.currentMethod() + " " + PrincipalScope.currentPath();
+            event.principal = Objects.isNull(ctx) ? null : String.valueOf(ctx.getUserId());
+            event.scopes = String.join(",", allowedScopes);
+            event.outcome = outcome.name();
+            event.reason = reason;
+            event.commit();
+        }
+
+        if (!auditLogger.isEnabled()) {
+            return;
+        }
+
+        auditLogger.record(AuditEvent.builder()
+                .timestamp(System.currentTimeMillis())
+                .type(AuditEventType.AUTHORIZATION)
+                .principal(Objects.isNull(ctx) ? null : String.valueOf(ctx.getUserId()))
+                .endpoint(PrincipalScope.currentMethod() + " " + PrincipalScope.currentPath())
+                .scope(String.join(",", allowedScopes))
+                .outcome(outcome)
+                .latencyMicros((System.nanoTime() - startedAt) / 1000)
+                .reason(reason)
+                .build());
     }
 }
@@ -0,0 +1,106 @@
+package com.authauz.authauz.security.assertion;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.token.ContextAssertionAuthenticationToken;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ContextAssertionFilter authenticates service-to-service calls from the
+ * internal context assertion header minted by {@link ContextAssertionCodec}.
+ * 
+ * A valid assertion is turned directly into an authenticated
+ * {@link ContextAssertionAuthenticationToken} in the
+ * {@link SecurityContextHolder} and bound to {@link PrincipalScope}, without
+ * going through JWT verification or the {@code AuthenticationManager}.
+ * Requests without the header, or with an invalid one, continue
+ * unauthenticated, like {@code CookieBasedAuthenticationFilter} does for bad
+ * cookies.
+ * 
+ * Assertions are only meant for calls between our own services. Paths that
+ * face external callers, such as the forward-auth endpoint a reverse proxy
+ * consults, can be excluded, in which case the header is ignored there and
+ * the request is authenticated by its cookie or bearer token alone.
+ * 
+ * The filter only depends on the codec, the header name and the excluded
+ * paths, so downstream services can add it to their own chains.
+ */
+@Slf4j
+public class ContextAssertionFilter extends OncePerRequestFilter {
+    private final ContextAssertionCodec codec;
+    private final String headerName;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ContextAssertionFilter(ContextAssertionCodec codec, String headerName) {
+        this(codec, headerName, List.of());
+    }
+
+    /**
+     * @param codec         The codec verifying assertions.
+     * @param headerName    The request header carrying the assertion.
+     * @param excludedPaths Ant-style patterns of request paths on which
+     *                      assertions are not accepted.
+     */
+    public ContextAssertionFilter(ContextAssertionCodec codec, String headerName, List<String> excludedPaths) {
+        this.codec = codec;
+        this.headerName = headerName;
+        this.excludedPaths = List.copyOf(excludedPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : excludedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifies the assertion header, if present, and authenticates the request
+     * with the asserted context.
+     * 
+     * @param request     The HTTP request.
+     * @param response    The HTTP response.
+     * @param filterChain The filter chain to proceed with the next filter.
+     * @throws ServletException In case of servlet-related errors.
+     * @throws IOException      In case of I/O errors.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String assertion = request.getHeader(headerName);
+        if (Objects.isNull(assertion)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestContext principal = null;
+        try {
+            principal = codec.verify(assertion);
+            SecurityContextHolder.getContext().setAuthentication(new ContextAssertionAuthenticationToken(principal));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected context assertion: {}", e.getMessage());
+        }
+
+        try (var binding = PrincipalScope.bind(principal, request.getMethod(), request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.authauz.authauz.security.assertion;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.context.PrincipalScope;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Client-side interceptor for {@code RestTemplate}/{@code RestClient} that
+ * attaches a freshly minted context assertion for the current principal to
+ * outgoing calls, so the downstream service can authenticate the user with
+ * {@link ContextAssertionFilter} instead of re-verifying the user's JWT.
+ * Calls made outside an authenticated request, or on behalf of a service
+ * client, are sent unchanged.
+ */
+@RequiredArgsConstructor
+public class ContextAssertionInterceptor implements ClientHttpRequestInterceptor {
+    private final ContextAssertionCodec codec;
+    private final String headerName;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestContext context = PrincipalScope.currentContext();
+        if (Objects.nonNull(context) && !context.isServiceClient()) {
+            request.getHeaders().set(headerName, codec.mint(context));
+        }
+        return execution.execute(request, body);
+    }
+}
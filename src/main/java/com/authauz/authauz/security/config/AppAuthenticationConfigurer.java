@@ -1,9 +1,29 @@
 package com.authauz.authauz.security.config;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.authauz.authauz.audit.AuditLogger;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.ForwardAuthConfiguration;
+import com.authauz.authauz.security.assertion.ContextAssertionCodec;
+import com.authauz.authauz.security.assertion.ContextAssertionFilter;
+import com.authauz.authauz.security.filter.CookieBasedAuthenticationFilter;
+import com.authauz.authauz.security.filter.ManagementAuthorizationFilter;
+import com.authauz.authauz.security.filter.RouteAuthorizationFilter;
+import com.authauz.authauz.security.handler.ProblemResponses;
+import com.authauz.authauz.security.policy.BypassedEndpoints;
+import com.authauz.authauz.security.policy.RouteScopeTable;
+import com.authauz.authauz.shadow.ShadowPolicyEndpoint;
+import com.authauz.authauz.sketch.TrafficSketchEndpoint;
 
 import lombok.RequiredArgsConstructor;
 
@@ -15,11 +35,22 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AppAuthenticationConfigurer extends AbstractHttpConfigurer<AppAuthenticationConfigurer, HttpSecurity> {
     private final JwtAuthenticationConfigurer jwtAuthenticationConfigurer;
+    private final AppConfigurationProperties properties;
+    private final RouteScopeTable routeScopeTable;
+    private final BypassedEndpoints bypassedEndpoints;
+    private final ProblemResponses problemResponses;
+    private final AuditLogger auditLogger;
+    private final ObjectProvider<ContextAssertionCodec> contextAssertionCodec;
 
     /**
      * Configures the HttpSecurity object to add the custom
      * CookieBasedAuthenticationFilter
-     * before the UsernamePasswordAuthenticationFilter in the filter chain.
+     * before the UsernamePasswordAuthenticationFilter in the filter chain, and,
+     * when route authorization is enabled, the RouteAuthorizationFilter right
+     * after it. When internal context assertions are enabled, their verifying
+     * filter runs ahead of the cookie filter, except on the forward-auth path.
+     * The application's own actuator endpoints are always restricted to seller
+     * admins by a ManagementAuthorizationFilter after the cookie filter.
      *
      * @param http the HttpSecurity object to configure
      * @throws Exception in case of any errors during configuration
@@ -28,5 +59,41 @@ public class AppAuthenticationConfigurer extends AbstractHttpConfigurer<AppAuthe
     public void configure(HttpSecurity http) throws Exception {
         http.addFilterBefore(jwtAuthenticationConfigurer.cookieBasedAuthenticationFilter(),
                 UsernamePasswordAuthenticationFilter.class);
+
+        contextAssertionCodec.ifAvailable(codec -> http.addFilterBefore(
+                new ContextAssertionFilter(codec, properties.getAssertion().getHeader(), externalPaths()),
+                CookieBasedAuthenticationFilter.class));
+
+        http.addFilterAfter(new ManagementAuthorizationFilter(managementEndpoints(), problemResponses),
+                CookieBasedAuthenticationFilter.class);
+
+        boolean routeAuthorization = Optional.ofNullable(properties.getAuth())
+                .map(AppConfigurationProperties.AuthConfiguration::isRouteAuthorization)
+                .orElse(false);
+        if (routeAuthorization) {
+            http.addFilterAfter(new RouteAuthorizationFilter(routeScopeTable, bypassedEndpoints, problemResponses,
+                    auditLogger), CookieBasedAuthenticationFilter.class);
+        }
+    }
+
+    /**
+     * @return The actuator endpoints exposing or resetting authorization state
+     *         or principal ids, which only seller admins may reach.
+     */
+    private RequestMatcher managementEndpoints() {
+        return EndpointRequest.to(ShadowPolicyEndpoint.class, TrafficSketchEndpoint.class);
+    }
+
+    /**
+     * @return The paths answering external callers, where internal context
+     *         assertions must not authenticate a request: a reverse proxy
+     *         consulting forward-auth passes on headers chosen by the client.
+     */
+    private List<String> externalPaths() {
+        ForwardAuthConfiguration forwardAuth = properties.getForwardAuth();
+        if (!forwardAuth.isEnabled()) {
+            return List.of();
+        }
+        return List.of(forwardAuth.getPath(), forwardAuth.getPath() + "/**");
     }
 }
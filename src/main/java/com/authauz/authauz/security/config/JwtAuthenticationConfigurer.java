@@ -7,7 +7,9 @@ import org.springframework.security.authentication.ProviderManager;
 
 import com.authauz.authauz.configuration.AppConfigurationProperties;
 import com.authauz.authauz.security.filter.CookieBasedAuthenticationFilter;
+import com.authauz.authauz.security.policy.BypassedEndpoints;
 import com.authauz.authauz.security.provider.JwtBasedAuthenticationProvider;
+import com.authauz.authauz.session.IdleSessionTracker;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +23,8 @@ import lombok.RequiredArgsConstructor;
 public class JwtAuthenticationConfigurer {
     private final AppConfigurationProperties appConfig;
     private final JwtBasedAuthenticationProvider jwtProvider;
+    private final IdleSessionTracker idleSessionTracker;
+    private final BypassedEndpoints bypassedEndpoints;
 
     /**
      * Bean definition for AuthenticationManager, using
@@ -43,6 +47,7 @@ public class JwtAuthenticationConfigurer {
      */
     @Bean
     CookieBasedAuthenticationFilter cookieBasedAuthenticationFilter() throws Exception {
-        return new CookieBasedAuthenticationFilter(jwtAuthenticationManager(jwtProvider), appConfig);
+        return new CookieBasedAuthenticationFilter(jwtAuthenticationManager(jwtProvider), appConfig,
+                idleSessionTracker, bypassedEndpoints);
     }
 }
@@ -1,22 +1,20 @@
 package com.authauz.authauz.security.config;
 
-import java.io.IOException;
-
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.AnonymousConfigurer;
-import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.authauz.authauz.security.handler.ProblemResponses;
 
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -25,12 +23,16 @@ import lombok.RequiredArgsConstructor;
  * <p>
  * This class leverages Spring Security's fluent API to configure features like
  * CSRF protection, custom authentication handlers, and exception handling.
+ * <p>
+ * With the {@code lean} profile active, the chain is reduced to the filters a
+ * stateless cookie or bearer JWT API needs; see
+ * {@link #leanSecurityFilterChain(HttpSecurity)}.
  */
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
-    private final ObjectMapper objectMapper;
+    private final ProblemResponses problemResponses;
     private final AppAuthenticationConfigurer appAuthenticationConfigurer;
 
     /**
@@ -41,6 +43,7 @@ public class SecurityConfig {
      * @throws Exception if there is an error in the configuration.
      */
     @Bean
+    @Profile("!lean")
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF protection for stateless API
@@ -54,11 +57,14 @@ public class SecurityConfig {
                 // Disable form-based login (JWT or cookie-based authentication is used)
                 .formLogin(AbstractHttpConfigurer::disable)
 
-                // Handle authentication exceptions and unauthorized access
+                // Handle authentication exceptions and unauthorized access with the
+                // pre-encoded problem responses
                 .exceptionHandling((e) -> {
                     e.authenticationEntryPoint((req, resp, authException) -> {
-                        prepareUnauthorizedResponse(resp, HttpStatus.UNAUTHORIZED,
-                                authException);
+                        problemResponses.write(resp, HttpStatus.UNAUTHORIZED);
+                    });
+                    e.accessDeniedHandler((req, resp, accessDeniedException) -> {
+                        problemResponses.write(resp, HttpStatus.FORBIDDEN);
                     });
                 });
 
@@ -66,24 +72,56 @@ public class SecurityConfig {
     }
 
     /**
-     * Prepares an HTTP response for unauthorized access scenarios.
+     * Configures the lean security filter chain, active with the {@code lean}
+     * profile.
+     * <p>
+     * Authentication is carried by the token on every request and
+     * authorization is enforced by {@code AuthorizeAspect} (or by
+     * {@code RouteAuthorizationFilter}), so the chain keeps only:
+     * <ul>
+     * <li>{@code DisableEncodeUrlFilter}, which keeps session ids out of URLs
+     * and costs a request wrapper;</li>
+     * <li>{@code WebAsyncManagerIntegrationFilter}, which Spring Security always
+     * adds, so that async dispatches see the security context;</li>
+     * <li>{@code SecurityContextHolderFilter}, which clears the security context
+     * after each request; the context lives in a request attribute, never in
+     * the {@code HttpSession};</li>
+     * <li>the application's own authentication filters, and the seller admin
+     * check of its actuator endpoints;</li>
+     * <li>{@code SessionManagementFilter}, which Spring Security requires once a
+     * session creation policy is set; with
+     * {@link SessionCreationPolicy#STATELESS} it only records the context in
+     * the request attribute and never creates a session.</li>
+     * </ul>
+     * Header writers, logout, the request cache, the servlet API wrapper and
+     * exception translation are removed. Nothing downstream throws Spring
+     * Security exceptions: authorization failures are answered by
+     * {@code AuthFailureAdvice}. Response security headers such as
+     * {@code X-Content-Type-Options}, if wanted, must be set by the reverse
+     * proxy.
      *
-     * @param response  the {@link HttpServletResponse} to write the response to.
-     * @param errorType the HTTP status code representing the error type.
-     * @param exception the authentication exception encountered.
-     * @throws IOException if an error occurs while writing the response.
+     * @param http the {@link HttpSecurity} object to configure.
+     * @return the built {@link SecurityFilterChain}.
+     * @throws Exception if there is an error in the configuration.
      */
-    private void prepareUnauthorizedResponse(HttpServletResponse response, HttpStatus errorType,
-            AuthenticationException exception) throws IOException {
-        // Set the HTTP response status and content type
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-
-        // Prepare the response body with an error message
-        var apiResponse = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body("Unauthorized access: either token is invalid or expired");
+    @Bean
+    @Profile("lean")
+    SecurityFilterChain leanSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .with(appAuthenticationConfigurer, Customizer.withDefaults())
+                .anonymous(AnonymousConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .headers(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .servletApi(AbstractHttpConfigurer::disable)
+                .exceptionHandling(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository()));
 
-        // Write the response body as JSON
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+        return http.build();
     }
 }
@@ -0,0 +1,144 @@
+package com.authauz.authauz.security.context;
+
+import java.util.Objects;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.authauz.authauz.common.RequestContext;
+
+/**
+ * Carries the authenticated {@link RequestContext}, the request line of the
+ * current request and whether it targets a bypassed endpoint, bound once by the
+ * authentication filter.
+ * <p>
+ * Controllers, services and the authorization aspect can read the principal
+ * through {@link #currentContext()} instead of going through
+ * {@link SecurityContextHolder} and casting the principal, or through the
+ * request-scoped {@code HttpServletRequest} proxy, which resolves the request
+ * from thread-locals on every access.
+ * <p>
+ * A binding is immutable and strictly nested: {@link #bind} returns a
+ * {@link Binding} that restores the previous binding when closed. This mirrors
+ * {@code ScopedValue.where(...).run(...)}; the project targets Java 17, where
+ * scoped values are not available, so the binding is held in a single
+ * thread-local that is read once per access.
+ * <p>
+ * The carrier interoperates with {@link SecurityContextHolder}: when no
+ * principal is bound, {@link #currentContext()} falls back to the
+ * authenticated principal found there.
+ */
+public final class PrincipalScope {
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private PrincipalScope() {
+    }
+
+    /**
+     * Binds the principal and request line for the duration of a
+     * try-with-resources block.
+     *
+     * @param context The authenticated user context, or null for anonymous
+     *                requests.
+     * @param method  The HTTP method of the request.
+     * @param path    The request path.
+     * @return The binding, to be closed when the request completes.
+     */
+    public static Binding bind(RequestContext context, String method, String path) {
+        return bind(context, method, path, false);
+    }
+
+    /**
+     * Binds the principal and request line for the duration of a
+     * try-with-resources block, together with the filter's decision that the
+     * request targets an endpoint exempt from authentication.
+     *
+     * @param context  The authenticated user context, or null for anonymous
+     *                 requests.
+     * @param method   The HTTP method of the request.
+     * @param path     The request path.
+     * @param bypassed True if the request matches
+     *                 {@code auth.bypass.endpoints}.
+     * @return The binding, to be closed when the request completes.
+     */
+    public static Binding bind(RequestContext context, String method, String path, boolean bypassed) {
+        Binding binding = new Binding(context, method, path, bypassed, CURRENT.get());
+        CURRENT.set(binding);
+        return binding;
+    }
+
+    /**
+     * Returns the authenticated user context of the current request.
+     *
+     * @return The bound {@link RequestContext}, the authenticated principal from
+     *         {@link SecurityContextHolder} when none is bound, or null if the
+     *         request is not authenticated.
+     */
+    public static RequestContext currentContext() {
+        Binding binding = CURRENT.get();
+        if (Objects.nonNull(binding) && Objects.nonNull(binding.context)) {
+            return binding.context;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (Objects.nonNull(authentication) && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof RequestContext context) {
+            return context;
+        }
+        return null;
+    }
+
+    /**
+     * @return The HTTP method of the current request, or null if unbound.
+     */
+    public static String currentMethod() {
+        Binding binding = CURRENT.get();
+        return Objects.isNull(binding) ? null : binding.method;
+    }
+
+    /**
+     * @return The path of the current request, or null if unbound.
+     */
+    public static String currentPath() {
+        Binding binding = CURRENT.get();
+        return Objects.isNull(binding) ? null : binding.path;
+    }
+
+    /**
+     * @return True if the current request targets an endpoint exempt from
+     *         authentication, false if it does not or if unbound.
+     */
+    public static boolean isBypassed() {
+        Binding binding = CURRENT.get();
+        return Objects.nonNull(binding) && binding.bypassed;
+    }
+
+    /**
+     * An immutable binding of the current request's principal and request line.
+     * Closing it restores the binding that was active when it was created.
+     */
+    public static final class Binding implements AutoCloseable {
+        private final RequestContext context;
+        private final String method;
+        private final String path;
+        private final boolean bypassed;
+        private final Binding previous;
+
+        private Binding(RequestContext context, String method, String path, boolean bypassed, Binding previous) {
+            this.context = context;
+            this.method = method;
+            this.path = path;
+            this.bypassed = bypassed;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (Objects.isNull(previous)) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
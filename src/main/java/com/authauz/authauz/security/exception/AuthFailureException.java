@@ -0,0 +1,35 @@
+package com.authauz.authauz.security.exception;
+
+import org.springframework.http.HttpStatus;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Base class of the authentication and authorization failures raised while
+ * processing a request.
+ * <p>
+ * Rejections are expected, frequent events (expired sessions, scanners,
+ * attack traffic), so these exceptions do not capture a stack trace and are
+ * translated into pre-encoded responses by
+ * {@link com.authauz.authauz.security.handler.AuthFailureAdvice}.
+ */
+public abstract class AuthFailureException extends RuntimeException {
+
+    protected AuthFailureException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * @return the HTTP status the failure is reported with
+     */
+    public abstract HttpStatus getStatus();
+
+    /**
+     * Adds failure-specific headers to the response, before the problem body
+     * is written. Does nothing by default.
+     *
+     * @param response the response being rejected
+     */
+    public void writeHeaders(HttpServletResponse response) {
+    }
+}
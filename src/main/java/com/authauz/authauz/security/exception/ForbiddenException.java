@@ -0,0 +1,18 @@
+package com.authauz.authauz.security.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an authenticated user lacks the scopes required by an endpoint.
+ */
+public class ForbiddenException extends AuthFailureException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.FORBIDDEN;
+    }
+}
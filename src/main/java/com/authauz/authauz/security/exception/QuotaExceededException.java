@@ -0,0 +1,30 @@
+package com.authauz.authauz.security.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.authauz.authauz.quota.QuotaDecision;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Thrown when an authorized request exceeds the quota of its principal or of
+ * its user type and role.
+ */
+public class QuotaExceededException extends AuthFailureException {
+    private final transient QuotaDecision decision;
+
+    public QuotaExceededException(String message, QuotaDecision decision) {
+        super(message);
+        this.decision = decision;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    @Override
+    public void writeHeaders(HttpServletResponse response) {
+        decision.writeHeaders(response);
+    }
+}
@@ -0,0 +1,18 @@
+package com.authauz.authauz.security.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a protected endpoint is called without a valid authentication.
+ */
+public class UnauthenticatedException extends AuthFailureException {
+
+    public UnauthenticatedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
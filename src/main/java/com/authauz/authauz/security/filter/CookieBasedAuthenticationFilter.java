@@ -3,14 +3,20 @@ package com.authauz.authauz.security.filter;
 import java.io.IOException;
 import java.util.Objects;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.authauz.authauz.common.RequestContext;
 import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.jfr.TokenResolutionEvent;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.policy.BypassedEndpoints;
 import com.authauz.authauz.security.token.JwtAuthenticationToken;
+import com.authauz.authauz.session.IdleSessionTracker;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,7 +28,15 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * CookieBasedAuthenticationFilter is a custom Spring Security filter
  * responsible for extracting a JWT from cookies, authenticating the token,
- * and setting the authentication in the security context.
+ * and setting the authentication in the security context. Service clients,
+ * which receive their token in the body of the client-credentials grant, send
+ * it as an {@code Authorization: Bearer} header instead.
+ * 
+ * Every request authenticated as a user refreshes its session in the
+ * {@link IdleSessionTracker}; a session idle for longer than the timeout is
+ * treated as unauthenticated. Service clients are not tracked: they call
+ * on a schedule of their own, and the client-credentials grant keeps
+ * handing out the same token within its reuse window.
  * 
  * This filter runs once per request and ensures that authenticated requests
  * have a valid JWT token before proceeding further in the filter chain.
@@ -30,13 +44,20 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Component
 public class CookieBasedAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private AppConfigurationProperties appProperties;
     private AuthenticationManager authenticationManager;
+    private IdleSessionTracker idleSessionTracker;
+    private BypassedEndpoints bypassedEndpoints;
 
     public CookieBasedAuthenticationFilter(AuthenticationManager authenticationManager,
-            AppConfigurationProperties appConfig) {
+            AppConfigurationProperties appConfig, IdleSessionTracker idleSessionTracker,
+            BypassedEndpoints bypassedEndpoints) {
         this.authenticationManager = authenticationManager;
         this.appProperties = appConfig;
+        this.idleSessionTracker = idleSessionTracker;
+        this.bypassedEndpoints = bypassedEndpoints;
     }
 
     /**
@@ -46,6 +67,10 @@ public class CookieBasedAuthenticationFilter extends OncePerRequestFilter {
      * If no token is found or authentication fails, the request continues without
      * authentication.
      * 
+     * The resulting principal, the request line and whether the request targets
+     * a bypassed endpoint are bound to {@link PrincipalScope} for the rest of the
+     * filter chain, so that the authorization aspect does not need the request.
+     * 
      * @param request     The HTTP request.
      * @param response    The HTTP response.
      * @param filterChain The filter chain to proceed with the next filter.
@@ -55,23 +80,66 @@ public class CookieBasedAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String token = getTokenFromCookies(request);
+        TokenResolutionEvent event = new TokenResolutionEvent();
+        event.begin();
 
+        String token = getTokenFromCookies(request);
+        String source = "cookie";
         if (Objects.isNull(token)) {
-            filterChain.doFilter(request, response);
-            return;
+            token = getBearerToken(request);
+            if (Objects.nonNull(token)) {
+                source = "bearer";
+            }
+        }
+        RequestContext principal = null;
+        String failure = null;
+
+        if (!Objects.isNull(token)) {
+            try {
+                Authentication authentication = authenticationManager.authenticate(new JwtAuthenticationToken(token));
+                RequestContext authenticated = (RequestContext) authentication.getPrincipal();
+                if (isActive(authenticated)) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    principal = authenticated;
+                } else {
+                    failure = "Session has been idle for longer than the idle timeout.";
+                }
+            } catch (Exception e) {
+                // Rejected tokens are routine (expiry, scanners), not errors
+                failure = e.getMessage();
+                log.debug("Rejected authentication token: {}", failure);
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = request.getMethod() + " " + request.getRequestURI();
+            event.source = source;
+            event.outcome = Objects.isNull(token) ? TokenResolutionEvent.ABSENT
+                    : Objects.isNull(principal) ? TokenResolutionEvent.REJECTED : TokenResolutionEvent.AUTHENTICATED;
+            event.reason = failure;
+            event.commit();
         }
 
-        try {
-            Authentication authentication = authenticationManager.authenticate(new JwtAuthenticationToken(token));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        } catch (Exception e) {
-            log.error("Error occured : ", e);
-        } finally {
+        try (var binding = PrincipalScope.bind(principal, request.getMethod(), request.getRequestURI(),
+                bypassedEndpoints.matches(request))) {
             filterChain.doFilter(request, response);
         }
     }
 
+    /**
+     * Refreshes the principal's session in the idle session tracker, unless the
+     * principal is a service client.
+     *
+     * @param principal The authenticated principal.
+     * @return False if the session has timed out.
+     */
+    private boolean isActive(RequestContext principal) {
+        return !idleSessionTracker.isEnabled() || principal.isServiceClient() || idleSessionTracker.touch(
+                IdleSessionTracker.sessionId(principal.getTokenId(), principal.getUserId()),
+                principal.getExpiresAt());
+    }
+
     /**
      * Retrieves the JWT token from the cookies in the incoming HTTP request.
      * 
@@ -90,4 +158,18 @@ public class CookieBasedAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
+    /**
+     * Retrieves the JWT token from the {@code Authorization: Bearer} header.
+     *
+     * @param request The HTTP request.
+     * @return The JWT token if present; otherwise, null.
+     */
+    private String getBearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (Objects.nonNull(header) && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
 }
@@ -0,0 +1,84 @@
+package com.authauz.authauz.security.filter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.handler.ProblemResponses;
+import com.authauz.authauz.security.policy.EndpointPolicy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ManagementAuthorizationFilter restricts the application's own actuator
+ * endpoints to seller admins, right after
+ * {@link CookieBasedAuthenticationFilter} has bound the principal.
+ *
+ * Actuator operations are not handler methods carrying {@code @Authorize}, so
+ * neither {@code AuthorizeAspect} nor {@link RouteAuthorizationFilter} sees
+ * them. Endpoints that report on or reset authorization state are listed here
+ * instead; the health probes stay open to the orchestrator.
+ *
+ * The endpoints are selected by a {@link RequestMatcher}, such as
+ * {@code EndpointRequest.to(...)}, which matches the decoded and normalized
+ * path the actuator itself dispatches on. Matching the raw request URI would
+ * let a percent-encoded path such as {@code /actuator/%74rafficsketch} through.
+ */
+@Slf4j
+public class ManagementAuthorizationFilter extends OncePerRequestFilter {
+    private static final EndpointPolicy POLICY = EndpointPolicy.ofScopes(AppScopes.SELLER_ADMIN);
+
+    private final RequestMatcher endpoints;
+    private final ProblemResponses problemResponses;
+
+    /**
+     * @param endpoints        Matches the requests to the protected endpoints.
+     * @param problemResponses Writes the rejections.
+     */
+    public ManagementAuthorizationFilter(RequestMatcher endpoints, ProblemResponses problemResponses) {
+        this.endpoints = endpoints;
+        this.problemResponses = problemResponses;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !endpoints.matches(request);
+    }
+
+    /**
+     * Checks the bound principal against the seller admin scope and either
+     * writes the rejection or continues the chain.
+     *
+     * @param request     The HTTP request.
+     * @param response    The HTTP response.
+     * @param filterChain The filter chain to proceed with the next filter.
+     * @throws ServletException In case of servlet-related errors.
+     * @throws IOException      In case of I/O errors.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestContext ctx = PrincipalScope.currentContext();
+        if (Objects.isNull(ctx)) {
+            problemResponses.write(response, HttpStatus.UNAUTHORIZED);
+            return;
+        }
+        if (!POLICY.permits(ctx)) {
+            log.warn("Authorization failed: User with ID: {} attempted to access management endpoint {} {}",
+                    ctx.getUserId(), request.getMethod(), request.getRequestURI());
+            problemResponses.write(response, HttpStatus.FORBIDDEN);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
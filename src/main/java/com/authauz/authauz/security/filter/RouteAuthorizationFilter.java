@@ -0,0 +1,102 @@
+package com.authauz.authauz.security.filter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authauz.authauz.audit.AuditEvent;
+import com.authauz.authauz.audit.AuditEventType;
+import com.authauz.authauz.audit.AuditLogger;
+import com.authauz.authauz.audit.AuditOutcome;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.handler.ProblemResponses;
+import com.authauz.authauz.security.policy.BypassedEndpoints;
+import com.authauz.authauz.security.policy.EndpointPolicy;
+import com.authauz.authauz.security.policy.RouteScopeTable;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * RouteAuthorizationFilter enforces the {@code @Authorize} scopes of the target
+ * handler inside the security filter chain, right after
+ * {@link CookieBasedAuthenticationFilter} has bound the principal.
+ * 
+ * The required scopes are looked up in the precomputed
+ * {@link RouteScopeTable}, so unauthenticated and forbidden requests are
+ * rejected before the {@code DispatcherServlet} runs handler mapping, path
+ * variable conversion or request body deserialization. Requests that match no
+ * route continue untouched. {@code AuthorizeAspect} still checks every
+ * invocation as a defense-in-depth fallback.
+ * 
+ * The filter is only added to the chain when
+ * {@code auth.route-authorization} is enabled.
+ */
+@RequiredArgsConstructor
+public class RouteAuthorizationFilter extends OncePerRequestFilter {
+    private final RouteScopeTable routeScopeTable;
+    private final BypassedEndpoints bypassedEndpoints;
+    private final ProblemResponses problemResponses;
+    private final AuditLogger auditLogger;
+
+    /**
+     * Resolves the policy of the route, checks the bound principal against it
+     * and either writes the rejection or continues the chain.
+     * 
+     * @param request     The HTTP request.
+     * @param response    The HTTP response.
+     * @param filterChain The filter chain to proceed with the next filter.
+     * @throws ServletException In case of servlet-related errors.
+     * @throws IOException      In case of I/O errors.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        EndpointPolicy policy = routeScopeTable.resolve(request);
+
+        if (Objects.isNull(policy) || policy.isBypass() || bypassedEndpoints.matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestContext ctx = PrincipalScope.currentContext();
+        if (Objects.isNull(ctx)) {
+            reject(response, HttpStatus.UNAUTHORIZED, null, policy, startedAt,
+                    "Unauthorized access: User is not authenticated");
+            return;
+        }
+        if (!policy.permits(ctx)) {
+            reject(response, HttpStatus.FORBIDDEN, ctx, policy, startedAt, "Authorization failed: User "
+                    + ctx.getUserType() + " with ID: " + ctx.getUserId()
+                    + " attempted to access an endpoint without the necessary permissions.");
+            return;
+        }
+
+        // Granted requests are audited once, by AuthorizeAspect
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, RequestContext ctx, EndpointPolicy policy,
+            long startedAt, String reason) throws IOException {
+        if (auditLogger.isEnabled()) {
+            auditLogger.record(AuditEvent.builder()
+                    .timestamp(System.currentTimeMillis())
+                    .type(AuditEventType.AUTHORIZATION)
+                    .principal(Objects.isNull(ctx) ? null : String.valueOf(ctx.getUserId()))
+                    .endpoint(PrincipalScope.currentMethod() + " " + PrincipalScope.currentPath())
+                    .scope(String.join(",", policy.getScopes()))
+                    .outcome(AuditOutcome.DENIED)
+                    .latencyMicros((System.nanoTime() - startedAt) / 1000)
+                    .reason(reason)
+                    .build());
+        }
+        problemResponses.write(response, status);
+    }
+}
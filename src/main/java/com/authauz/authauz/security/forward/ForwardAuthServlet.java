@@ -0,0 +1,57 @@
+package com.authauz.authauz.security.forward;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.context.PrincipalScope;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Verification target of reverse proxies ({@code auth_request} in nginx,
+ * {@code ext_authz} in Envoy): answers 200 with the principal in
+ * {@code X-User-*} headers if the request carries a valid cookie or bearer
+ * token, 401 otherwise, always with an empty body.
+ * <p>
+ * The token is verified by the security filter chain in front of every
+ * servlet, through {@code CookieBasedAuthenticationFilter} and
+ * {@code JwtBasedAuthenticationProvider}, exactly as for the API, idle
+ * timeouts and permission versions included. Internal context assertions are
+ * not accepted on this path, since the proxy passes on client-chosen headers.
+ * This servlet only reads the bound principal, so it bypasses the
+ * {@code DispatcherServlet}, handler mapping, {@code AuthorizeAspect} and
+ * message conversion: a verification costs the filter chain and three header
+ * writes.
+ * <p>
+ * Mapped to all methods and sub-paths, since Envoy forwards the original
+ * method and appends the original path.
+ */
+public class ForwardAuthServlet extends HttpServlet {
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_TYPE = "X-User-Type";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_SCOPES = "X-User-Scopes";
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RequestContext context = PrincipalScope.currentContext();
+        if (Objects.isNull(context)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentLength(0);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(USER_ID, context.getUserId().toString());
+        if (context.isServiceClient()) {
+            response.setHeader(USER_SCOPES, String.join(" ", context.getGrantedScopes()));
+        } else {
+            response.setHeader(USER_TYPE, context.getUserType().name());
+            response.setHeader(USER_ROLE, context.getRole().name());
+        }
+        response.setContentLength(0);
+    }
+}
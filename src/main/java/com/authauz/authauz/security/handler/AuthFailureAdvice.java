@@ -0,0 +1,31 @@
+package com.authauz.authauz.security.handler;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.authauz.authauz.security.exception.AuthFailureException;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Translates {@link AuthFailureException}s raised by the authorization aspect
+ * into the pre-encoded problem responses, instead of letting them surface as
+ * 500 errors.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AuthFailureAdvice {
+    private final ProblemResponses problemResponses;
+
+    @ExceptionHandler(AuthFailureException.class)
+    public void handleAuthFailure(AuthFailureException exception, HttpServletResponse response) throws IOException {
+        exception.writeHeaders(response);
+        problemResponses.write(response, exception.getStatus());
+    }
+}
@@ -0,0 +1,62 @@
+package com.authauz.authauz.security.handler;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Holds the RFC 7807 problem bodies of the security rejections, serialized
+ * once at startup, and writes them straight to the servlet output stream.
+ * <p>
+ * Rejections are the bulk of the traffic during scanner or attack bursts, so
+ * answering one costs a status line, two headers and a single
+ * {@code byte[]} write, with no per-request serialization.
+ */
+@Component
+public class ProblemResponses {
+    private static final String PROBLEM_JSON = MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+
+    private final Map<HttpStatus, byte[]> bodies = new EnumMap<>(HttpStatus.class);
+
+    public ProblemResponses(ObjectMapper objectMapper) throws JsonProcessingException {
+        register(objectMapper, HttpStatus.UNAUTHORIZED, "Unauthorized access: either token is invalid or expired");
+        register(objectMapper, HttpStatus.FORBIDDEN,
+                "Access denied: the authenticated user lacks the scope required by this endpoint");
+        register(objectMapper, HttpStatus.TOO_MANY_REQUESTS, "Too many requests: a concurrency limit or quota was exceeded, retry later");
+    }
+
+    /**
+     * Writes the pre-encoded problem body for the given status.
+     *
+     * @param response the response to write to
+     * @param status   a status registered at startup
+     * @throws IOException if writing the response fails
+     */
+    public void write(HttpServletResponse response, HttpStatus status) throws IOException {
+        byte[] body = bodies.get(status);
+        if (Objects.isNull(body)) {
+            throw new IllegalArgumentException("No pre-encoded problem response for status " + status);
+        }
+
+        response.setStatus(status.value());
+        response.setContentType(PROBLEM_JSON);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void register(ObjectMapper objectMapper, HttpStatus status, String detail)
+            throws JsonProcessingException {
+        bodies.put(status, objectMapper.writeValueAsBytes(ProblemDetail.forStatusAndDetail(status, detail)));
+    }
+}
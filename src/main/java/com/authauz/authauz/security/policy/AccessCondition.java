@@ -0,0 +1,25 @@
+package com.authauz.authauz.security.policy;
+
+import com.authauz.authauz.common.RequestContext;
+
+/**
+ * A compiled {@code @Condition}: a predicate over the principal and the
+ * arguments of the handler invocation.
+ */
+@FunctionalInterface
+public interface AccessCondition {
+    /**
+     * @param ctx  The authenticated user context.
+     * @param args The arguments of the handler invocation.
+     * @return True if the condition holds.
+     */
+    boolean test(RequestContext ctx, Object[] args);
+
+    /**
+     * @param other The condition to combine with.
+     * @return A condition holding when both this and the other condition hold.
+     */
+    default AccessCondition and(AccessCondition other) {
+        return (ctx, args) -> test(ctx, args) && other.test(ctx, args);
+    }
+}
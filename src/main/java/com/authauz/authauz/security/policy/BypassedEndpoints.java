@@ -0,0 +1,40 @@
+package com.authauz.authauz.security.policy;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Matches requests against the endpoints configured under
+ * {@code auth.bypass.endpoints}, which are exempt from authentication (e.g.
+ * Swagger API docs).
+ */
+@Component
+@RequiredArgsConstructor
+public class BypassedEndpoints {
+    private final AppConfigurationProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Checks if the request targets an endpoint exempt from authentication.
+     *
+     * @param request The HTTP request.
+     * @return True if authentication should be bypassed for the request.
+     */
+    public boolean matches(HttpServletRequest request) {
+        List<String> NO_AUTH_EP = Optional.ofNullable(properties.getAuth())
+                .map(el -> properties.getAuth().getBypass())
+                .map(el -> properties.getAuth().getBypass().getEndpoints())
+                .orElse(List.of());
+
+        return NO_AUTH_EP.stream()
+                .anyMatch(ep -> pathMatcher.match(ep, request.getRequestURL().toString()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.authauz.authauz.security.policy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Objects;
+
+import org.springframework.util.ClassUtils;
+
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.Condition;
+import com.authauz.authauz.security.annotation.PrincipalAttribute;
+
+/**
+ * Validates the {@link Condition}s of an {@link Authorize} annotation and
+ * compiles them into an {@link AccessCondition}.
+ * <p>
+ * Parameter names are resolved to argument indexes and literals are parsed
+ * once, so the resulting predicate reads a principal attribute and an argument
+ * and compares them, with no reflection or parsing per request. Invalid
+ * conditions fail with an {@link IllegalStateException}, aborting startup.
+ */
+final class ConditionCompiler {
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * @param method    The handler method carrying the annotation.
+     * @param authorize The annotation whose conditions to compile.
+     * @return The conjunction of the conditions, or null if there are none.
+     */
+    static AccessCondition compile(Method method, Authorize authorize) {
+        AccessCondition compiled = null;
+        for (Condition condition : authorize.conditions()) {
+            AccessCondition next = compile(method, condition);
+            compiled = Objects.isNull(compiled) ? next : compiled.and(next);
+        }
+        return compiled;
+    }
+
+    private static AccessCondition compile(Method method, Condition condition) {
+        boolean hasParam = !condition.param().isEmpty();
+        boolean hasValue = !condition.value().isEmpty();
+        if (hasParam == hasValue) {
+            throw invalid(method, "must set exactly one of 'param' and 'value'");
+        }
+
+        PrincipalAttribute attribute = condition.principal();
+        AccessCondition equality = hasParam
+                ? parameterEquality(method, attribute, condition.param())
+                : literalEquality(method, attribute, condition.value());
+
+        if (condition.op() == Condition.Operator.NE) {
+            return (ctx, args) -> !equality.test(ctx, args);
+        }
+        return equality;
+    }
+
+    private static AccessCondition parameterEquality(Method method, PrincipalAttribute attribute, String name) {
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent() || !parameters[i].getName().equals(name)) {
+                continue;
+            }
+            Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(parameters[i].getType());
+            if (!attribute.getType().equals(type)) {
+                throw invalid(method, String.format("compares %s with parameter '%s' of type %s, expected %s",
+                        attribute, name, type.getSimpleName(), attribute.getType().getSimpleName()));
+            }
+            int index = i;
+            return (ctx, args) -> Objects.equals(attribute.read(ctx), args[index]);
+        }
+        throw invalid(method, "refers to unknown parameter '" + name
+                + "' (parameter names require compiling with -parameters)");
+    }
+
+    private static AccessCondition literalEquality(Method method, PrincipalAttribute attribute, String literal) {
+        Object expected;
+        try {
+            expected = attribute.parse(literal);
+        } catch (IllegalArgumentException e) {
+            throw invalid(method, "has value '" + literal + "', which is not a valid " + attribute);
+        }
+        return (ctx, args) -> expected.equals(attribute.read(ctx));
+    }
+
+    private static IllegalStateException invalid(Method method, String problem) {
+        return new IllegalStateException(String.format("A condition of the '@Authorize' annotation on method '%s' "
+                + "in '%s' %s.", method.getName(), method.getDeclaringClass().getSimpleName(), problem));
+    }
+}
@@ -0,0 +1,181 @@
+package com.authauz.authauz.security.policy;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.AuthorizeList;
+
+/**
+ * The authorization requirements of a single endpoint, as declared by its
+ * {@link Authorize} or {@link AuthorizeList} annotations.
+ * <p>
+ * Shared by {@code AuthorizeAspect} and the route authorization filter so that
+ * both evaluate scopes identically. Policies are normally taken from the
+ * generated {@code SecurityManifest} through {@link EndpointPolicyRegistry};
+ * {@link #of(Method)} reads them reflectively for methods the manifest does
+ * not cover and for methods with {@code @Condition}s, which are compiled into
+ * {@link AccessCondition}s at startup.
+ */
+public final class EndpointPolicy {
+    private static final AccessCondition[] NO_CONDITIONS = new AccessCondition[0];
+    private static final EndpointPolicy BYPASS = new EndpointPolicy(true, List.of(), NO_CONDITIONS);
+
+    private final boolean bypass;
+    private final List<String> scopes;
+    // Compiled conditions of each scope, index-aligned with scopes; null entries
+    // are unconditional
+    private final AccessCondition[] conditions;
+
+    private EndpointPolicy(boolean bypass, List<String> scopes, AccessCondition[] conditions) {
+        this.bypass = bypass;
+        this.scopes = scopes;
+        this.conditions = conditions;
+    }
+
+    /**
+     * @return The policy of an endpoint annotated with
+     *         {@code @Authorize(bypass = true)}.
+     */
+    public static EndpointPolicy bypass() {
+        return BYPASS;
+    }
+
+    /**
+     * @param scopes The scopes of which the principal must hold at least one.
+     * @return The policy of an endpoint requiring one of the scopes.
+     */
+    public static EndpointPolicy ofScopes(AppScopes... scopes) {
+        return new EndpointPolicy(false, Arrays.stream(scopes)
+                .map(AppScopes::getValue)
+                .collect(Collectors.toUnmodifiableList()), new AccessCondition[scopes.length]);
+    }
+
+    /**
+     * Reads the policy declared on a handler method, compiling the conditions
+     * of its scopes. Methods without annotations get an empty scope list, which
+     * no principal satisfies.
+     *
+     * @param method The handler method.
+     * @return The endpoint's policy.
+     * @throws IllegalStateException If a condition is invalid.
+     */
+    public static EndpointPolicy of(Method method) {
+        Authorize[] entries;
+        if (method.isAnnotationPresent(Authorize.class)) {
+            Authorize authorize = method.getAnnotation(Authorize.class);
+            if (authorize.bypass()) {
+                return BYPASS;
+            }
+            entries = new Authorize[] { authorize };
+        } else if (method.isAnnotationPresent(AuthorizeList.class)) {
+            entries = method.getAnnotation(AuthorizeList.class).value();
+        } else {
+            return new EndpointPolicy(false, List.of(), NO_CONDITIONS);
+        }
+
+        AccessCondition[] conditions = new AccessCondition[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            conditions[i] = ConditionCompiler.compile(method, entries[i]);
+        }
+        return new EndpointPolicy(false, Arrays.stream(entries)
+                .map(el -> el.scope().getValue())
+                .collect(Collectors.toUnmodifiableList()), conditions);
+    }
+
+    /**
+     * @return True if the endpoint skips authentication and authorization.
+     */
+    public boolean isBypass() {
+        return bypass;
+    }
+
+    /**
+     * @return The scopes of which the principal must hold at least one.
+     */
+    public List<String> getScopes() {
+        return scopes;
+    }
+
+    /**
+     * Checks whether the user's type and role match any of the endpoint's
+     * scopes. A scope has the form {@code userType:role}, where the role may be
+     * {@code *}.
+     * <p>
+     * Conditions are not evaluated, as they need the handler arguments: a
+     * conditional scope counts as matched. This is the check made before
+     * dispatch; {@link #permits(RequestContext, Object[])} makes the full one.
+     *
+     * @param ctx The authenticated user context.
+     * @return True if the user holds one of the scopes.
+     */
+    public boolean permits(RequestContext ctx) {
+        for (String allowedScope : scopes) {
+            if (holds(allowedScope, ctx)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the user holds any of the endpoint's scopes whose
+     * conditions all hold for the given handler arguments.
+     *
+     * @param ctx  The authenticated user context.
+     * @param args The arguments of the handler invocation.
+     * @return True if the user is granted access.
+     */
+    public boolean permits(RequestContext ctx, Object[] args) {
+        return Objects.nonNull(grantingScope(ctx, args));
+    }
+
+    /**
+     * Finds the first of the endpoint's scopes that the user holds and whose
+     * conditions all hold for the given handler arguments.
+     *
+     * @param ctx  The authenticated user context.
+     * @param args The arguments of the handler invocation.
+     * @return The granting scope, or null if access is denied.
+     */
+    public String grantingScope(RequestContext ctx, Object[] args) {
+        for (int i = 0; i < scopes.size(); i++) {
+            if (holds(scopes.get(i), ctx) && (Objects.isNull(conditions[i]) || conditions[i].test(ctx, args))) {
+                return scopes.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean holds(String allowedScope, RequestContext ctx) {
+        String[] allowedScopeParts = allowedScope.split(":");
+
+        if (ctx.isServiceClient()) {
+            for (String granted : ctx.getGrantedScopes()) {
+                if (covers(granted.split(":"), allowedScopeParts)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return allowedScopeParts[0].equalsIgnoreCase(ctx.getUserType().toString())
+                && (allowedScopeParts[1].equals("*")
+                        || allowedScopeParts[1].equalsIgnoreCase(ctx.getRole().toString()));
+    }
+
+    /**
+     * A granted scope covers an endpoint scope of the same user type when
+     * either side is the role wildcard or the roles match.
+     */
+    private static boolean covers(String[] grantedParts, String[] allowedScopeParts) {
+        return grantedParts[0].equalsIgnoreCase(allowedScopeParts[0])
+                && (grantedParts[1].equals("*") || allowedScopeParts[1].equals("*")
+                        || grantedParts[1].equalsIgnoreCase(allowedScopeParts[1]));
+    }
+}
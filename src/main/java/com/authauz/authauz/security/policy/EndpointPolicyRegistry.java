@@ -0,0 +1,77 @@
+package com.authauz.authauz.security.policy;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the {@link EndpointPolicy} of handler methods from the
+ * {@link SecurityManifest} generated at compile time by
+ * {@code AuthorizeProcessor}.
+ * <p>
+ * Each method is resolved once and cached by identity, so the authorization
+ * path performs a single map lookup instead of reading annotations on every
+ * call. Methods compiled without the processor (e.g. test controllers) fall
+ * back to reflection on their first lookup. {@code AuthorizeAnnotationBeanPostProcessor}
+ * resolves every controller method at startup, so invalid conditions fail
+ * the application before it serves traffic.
+ */
+public final class EndpointPolicyRegistry {
+    private static final Map<Method, EndpointPolicy> CACHE = new ConcurrentHashMap<>();
+
+    private EndpointPolicyRegistry() {
+    }
+
+    /**
+     * @param method The handler method.
+     * @return The method's policy.
+     */
+    public static EndpointPolicy policyFor(Method method) {
+        EndpointPolicy policy = CACHE.get(method);
+        if (Objects.isNull(policy)) {
+            policy = CACHE.computeIfAbsent(method, EndpointPolicyRegistry::resolve);
+        }
+        return policy;
+    }
+
+    /**
+     * @param type A controller class, without proxy subclasses.
+     * @return True if the class was compiled with, and validated by, the
+     *         annotation processor.
+     */
+    public static boolean isInManifest(Class<?> type) {
+        return SecurityManifest.CONTROLLERS.contains(type.getName());
+    }
+
+    private static EndpointPolicy resolve(Method method) {
+        String key = key(method);
+        EndpointPolicy policy = SecurityManifest.POLICIES.get(key);
+        if (Objects.nonNull(policy)) {
+            return policy;
+        }
+        // Conditions are validated by the processor but compiled reflectively,
+        // as their predicates bind to the loaded method
+        if (SecurityManifest.CONDITIONAL.contains(key)) {
+            return EndpointPolicy.of(method);
+        }
+        // Unannotated methods of a processed controller require a scope nobody holds
+        if (isInManifest(method.getDeclaringClass())) {
+            return EndpointPolicy.ofScopes();
+        }
+        return EndpointPolicy.of(method);
+    }
+
+    /**
+     * Builds the manifest key of a method, matching the processor's
+     * {@code declaringClass#method(paramType,...)} format.
+     */
+    static String key(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getTypeName)
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.authauz.authauz.security.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.AuthorizeList;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Route to {@link EndpointPolicy} table, precomputed once at startup from the
+ * {@link RequestMappingHandlerMapping}.
+ * <p>
+ * It lets the security filter chain resolve the policy of the handler a
+ * request will be dispatched to without going through the
+ * {@code DispatcherServlet}. Only handlers covered by {@code AuthorizeAspect}
+ * are included: methods of {@link RestController}s and methods annotated with
+ * {@link Authorize}. Requests that match no route resolve to null and are left
+ * to the regular dispatch.
+ * <p>
+ * Matching uses the same {@link RequestMappingInfo} conditions and ordering as
+ * the handler mapping. Besides the policy, the table names the matched route by
+ * its path pattern, which stays a bounded key however many ids appear in
+ * request paths. The table is scanned linearly, which is cheaper than a
+ * tree for the handful of routes the application declares.
+ */
+@Slf4j
+@Component
+public class RouteScopeTable implements SmartInitializingSingleton {
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private volatile List<Route> routes = List.of();
+
+    public RouteScopeTable(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    /**
+     * Builds the table once every singleton, including the handler mapping and
+     * the controllers it detected, has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        RequestMappingHandlerMapping mapping = handlerMapping.getIfAvailable();
+        if (Objects.isNull(mapping)) {
+            return;
+        }
+
+        List<Route> table = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+            HandlerMethod handler = entry.getValue();
+            if (isAuthorized(handler)) {
+                table.add(new Route(entry.getKey(), EndpointPolicyRegistry.policyFor(handler.getMethod())));
+            }
+        }
+        routes = List.copyOf(table);
+        log.info("Route scope table built with {} routes", table.size());
+    }
+
+    /**
+     * Resolves the policy of the handler the request maps to.
+     *
+     * @param request The HTTP request.
+     * @return The policy of the best matching route, or null if no route
+     *         matches.
+     */
+    public EndpointPolicy resolve(HttpServletRequest request) {
+        Match match = match(request);
+        return Objects.isNull(match) ? null : match.route().getPolicy();
+    }
+
+    /**
+     * Names the route the request maps to by its method and path pattern, e.g.
+     * {@code GET /users/{id}}.
+     *
+     * @param request The HTTP request.
+     * @return The method and pattern of the best matching route, or null if no
+     *         route matches.
+     */
+    public String endpoint(HttpServletRequest request) {
+        Match match = match(request);
+        return Objects.isNull(match) ? null
+                : request.getMethod() + " " + match.info().getPatternValues().iterator().next();
+    }
+
+    private Match match(HttpServletRequest request) {
+        // Path patterns match against the parsed request path, which the
+        // DispatcherServlet has not cached yet this early in the chain
+        RequestPath previousPath = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            Match best = null;
+            for (Route route : routes) {
+                RequestMappingInfo info = route.getInfo().getMatchingCondition(request);
+                if (Objects.nonNull(info) && (Objects.isNull(best) || info.compareTo(best.info(), request) < 0)) {
+                    best = new Match(route, info);
+                }
+            }
+            return best;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previousPath, request);
+        }
+    }
+
+    private boolean isAuthorized(HandlerMethod handler) {
+        return AnnotatedElementUtils.hasAnnotation(handler.getBeanType(), RestController.class)
+                || handler.getMethod().isAnnotationPresent(Authorize.class)
+                || handler.getMethod().isAnnotationPresent(AuthorizeList.class);
+    }
+
+    /**
+     * A route with its mapping narrowed to the patterns the request matched.
+     */
+    private record Match(Route route, RequestMappingInfo info) {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Route {
+        private final RequestMappingInfo info;
+        private final EndpointPolicy policy;
+    }
+}
@@ -1,5 +1,6 @@
 package com.authauz.authauz.security.provider;
 
+import java.util.Objects;
 import java.util.UUID;
 
 import javax.crypto.SecretKey;
@@ -8,13 +9,18 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.authauz.authauz.common.RequestContext;
 import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.security.policy.RouteScopeTable;
 import com.authauz.authauz.security.token.JwtAuthenticationToken;
+import com.authauz.authauz.security.token.PermissionVersionRegistry;
+import com.authauz.authauz.sketch.TrafficSketches;
 import com.authauz.authauz.utils.JwtUtils;
+import com.authauz.authauz.utils.TokenClaims;
 
-import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -25,9 +31,14 @@ import lombok.RequiredArgsConstructor;
  * This class:
  * - Parses and validates the JWT token using {@link JwtUtils}.
  * - Extracts user-specific details (like userId) from the token claims.
- * - Builds a {@link RequestContext} object for authenticated users.
+ * - Rejects tokens minted before the user's last permission change, as
+ * recorded in {@link PermissionVersionRegistry}.
+ * - Builds a {@link RequestContext} object for authenticated users, or for
+ * service clients when the token carries a {@code scope} claim.
  * - Returns an authenticated {@link JwtAuthenticationToken} if the token is
  * valid.
+ * - Feeds each successful authentication into {@link TrafficSketches}, keyed
+ * by the route the request maps to.
  */
 @Component
 @RequiredArgsConstructor
@@ -35,6 +46,9 @@ public class JwtBasedAuthenticationProvider implements AuthenticationProvider {
     private final JwtUtils jwtUtils;
     private final AppConfigurationProperties appConfig;
     private final UserContextBuilder ctxBuilder;
+    private final TrafficSketches trafficSketches;
+    private final PermissionVersionRegistry permissionVersions;
+    private final RouteScopeTable routeScopeTable;
 
     /**
      * Authenticates the given authentication request by validating the provided
@@ -55,14 +69,34 @@ public class JwtBasedAuthenticationProvider implements AuthenticationProvider {
         String token = auth.getToken();
 
         SecretKey secretKey = jwtUtils.generateSecretKey(appConfig.getJwt().getSecret());
-        Claims claims = jwtUtils.getPayload(auth.getToken(), secretKey);
+        TokenClaims claims = jwtUtils.getTokenClaims(auth.getToken(), secretKey);
 
-        UUID userId = UUID.fromString(claims.getAudience().stream().toList().get(0));
+        UUID userId = UUID.fromString(claims.getAudience());
+        if (permissionVersions.isStale(userId, claims.getPermissionVersion())) {
+            throw new IllegalArgumentException("Authentication token predates a permission change.");
+        }
 
-        RequestContext principal = ctxBuilder.prepareContext(userId);
+        RequestContext principal = Objects.isNull(claims.getScope()) ? ctxBuilder.prepareContext(userId, claims)
+                : ctxBuilder.prepareClientContext(userId, claims);
+        if (trafficSketches.isEnabled()) {
+            trafficSketches.record(userId, currentEndpoint());
+        }
         return new JwtAuthenticationToken(token, principal);
     }
 
+    /**
+     * @return The method and route pattern of the request being authenticated,
+     *         or null outside a servlet request or when it maps to no route.
+     *         Raw paths would spread one route over a key per id in the heavy
+     *         hitter sketch.
+     */
+    private String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return routeScopeTable.endpoint(attributes.getRequest());
+        }
+        return null;
+    }
+
     /**
      * Determines whether this AuthenticationProvider supports the given
      * authentication type.
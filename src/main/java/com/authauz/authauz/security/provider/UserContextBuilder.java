@@ -1,5 +1,8 @@
 package com.authauz.authauz.security.provider;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
@@ -7,6 +10,8 @@ import org.springframework.stereotype.Component;
 import com.authauz.authauz.common.RequestContext;
 import com.authauz.authauz.common.Role;
 import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.jfr.ContextBuildEvent;
+import com.authauz.authauz.utils.TokenClaims;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,22 +26,64 @@ import lombok.RequiredArgsConstructor;
  * application to support authorization and other logic based on the
  * authenticated user's details.
  * 
- * Currently, the user type and role are hardcoded for demo purposes. In a
- * real-world application, these values should be dynamically fetched from the
- * authenticated user's details (e.g., from a user database or identity
- * provider).
+ * The user type and role are taken from the token, which carries those of the
+ * stored user when it was minted; tokens minted before a later change are
+ * rejected by their permission version before the context is built.
  */
 @Component
 @RequiredArgsConstructor
 public class UserContextBuilder {
-    public RequestContext prepareContext(UUID userId) {
+    /**
+     * Prepares the context of a user from the type and role in the token.
+     *
+     * @param userId The user id, from the token audience.
+     * @param claims The token claims.
+     * @return The user context.
+     * @throws IllegalArgumentException If the token lacks a valid user type or
+     *                                  role.
+     */
+    public RequestContext prepareContext(UUID userId, TokenClaims claims) {
+        ContextBuildEvent event = new ContextBuildEvent();
+        event.begin();
 
-        return RequestContext.builder()
+        if (Objects.isNull(claims.getUserType()) || Objects.isNull(claims.getRole())) {
+            throw new IllegalArgumentException("Authentication token lacks the user type or role.");
+        }
+        RequestContext context = RequestContext.builder()
                 .userId(userId)
-                .userType(UserType.SELLER) // Hardcoded user type for demo purposes.
-                .role(Role.ADMIN) // Hardcoded role for demo purposes.
+                .tokenId(claims.getId())
+                .expiresAt(claims.getExpiration())
+                .userType(UserType.valueOf(claims.getUserType()))
+                .role(Role.valueOf(claims.getRole()))
                 .build();
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.userId = String.valueOf(userId);
+            event.userType = String.valueOf(context.getUserType());
+            event.role = String.valueOf(context.getRole());
+            event.commit();
+        }
+        return context;
+    }
+
+    /**
+     * Prepares the context of a service client authenticated through the
+     * client-credentials grant.
+     *
+     * @param clientId The principal id derived from the client id.
+     * @param claims   The token claims, carrying the space-delimited scopes
+     *                 granted to the client.
+     * @return The client context, holding the granted scopes instead of a user
+     *         type and role.
+     */
+    public RequestContext prepareClientContext(UUID clientId, TokenClaims claims) {
+        return RequestContext.builder()
+                .userId(clientId)
+                .grantedScopes(Set.copyOf(Arrays.asList(claims.getScope().split(" "))))
+                .tokenId(claims.getId())
+                .expiresAt(claims.getExpiration())
+                .build();
     }
 
 }
@@ -0,0 +1,67 @@
+package com.authauz.authauz.security.token;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import com.authauz.authauz.common.RequestContext;
+
+/**
+ * ContextAssertionAuthenticationToken is the authenticated
+ * {@link AbstractAuthenticationToken} produced from a verified internal
+ * context assertion.
+ * 
+ * Unlike {@link JwtAuthenticationToken} it has no unauthenticated state: the
+ * assertion is verified before the token is created, and no credentials are
+ * retained.
+ */
+public class ContextAssertionAuthenticationToken extends AbstractAuthenticationToken {
+    // The principal represents the asserted user context
+    private final RequestContext principal;
+
+    /**
+     * Constructor for initializing an authenticated token.
+     * 
+     * @param principal The asserted user context.
+     */
+    public ContextAssertionAuthenticationToken(RequestContext principal) {
+        super(null);
+        this.principal = principal;
+        super.setAuthenticated(true);
+        super.setDetails(principal);
+    }
+
+    /**
+     * Returns the asserted user context.
+     * 
+     * @return The {@link RequestContext} of the caller.
+     */
+    @Override
+    public Object getPrincipal() {
+        return this.principal;
+    }
+
+    /**
+     * Assertions are not kept once verified.
+     * 
+     * @return Always null.
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    /**
+     * Ensures that the authentication status can only be set via the
+     * constructor.
+     * 
+     * @param isAuthenticated The new authentication status.
+     * @throws IllegalArgumentException If an attempt is made to set authentication
+     *                                  manually.
+     */
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) throws IllegalArgumentException {
+        if (isAuthenticated) {
+            throw new IllegalArgumentException("Not allowed to set authentication manually, use constructor instead");
+        }
+        super.setAuthenticated(false);
+    }
+}
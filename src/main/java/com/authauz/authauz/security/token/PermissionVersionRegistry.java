@@ -0,0 +1,177 @@
+package com.authauz.authauz.security.token;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.store.UuidIndex;
+
+/**
+ * Current permission version of the users whose roles changed recently.
+ * <p>
+ * Tokens are stamped with the user's version when minted, in the {@code pv}
+ * claim, and a token carrying an older version than the registry holds is
+ * rejected. A version is the time of the change in epoch milliseconds, kept
+ * strictly increasing per user, so versions stay ordered even after an entry
+ * has been evicted and the user changes again.
+ * <p>
+ * Users are only tracked for the maximum token lifetime, user or service
+ * client, after their last change: by then every token stamped with an older version has expired, so
+ * the entry is swept and the user reads as version 0 again. Entries live in a
+ * {@link UuidIndex} pointing at slots of primitive arrays. While nothing is
+ * tracked, a lookup is a single volatile read; otherwise it is one probe under
+ * a read lock.
+ * <p>
+ * The registry is local to the node. Nodes behind a load balancer must each
+ * be told of a change, e.g. by the service that changes roles.
+ */
+@Component
+public class PermissionVersionRegistry {
+    // Matches the clock skew allowed when verifying token expiry
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(10);
+    private static final int INITIAL_SLOTS = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidIndex slotsById = new UuidIndex();
+    private final long retentionMillis;
+    private final Clock clock;
+
+    private long[] mostSignificant = new long[INITIAL_SLOTS];
+    private long[] leastSignificant = new long[INITIAL_SLOTS];
+    // 0 marks a free slot
+    private long[] versions = new long[INITIAL_SLOTS];
+    private int[] freeSlots = new int[INITIAL_SLOTS];
+    private int freeCount;
+    private int nextSlot;
+    private long nextSweepAt;
+    private volatile int size;
+
+    @Autowired
+    public PermissionVersionRegistry(AppConfigurationProperties properties) {
+        this(maxTokenLifetime(properties), Clock.systemUTC());
+    }
+
+    PermissionVersionRegistry(Duration maxTokenLifetime, Clock clock) {
+        this.retentionMillis = maxTokenLifetime.plus(CLOCK_SKEW).toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return The longest lifetime of the tokens this service mints: user
+     *         tokens live {@code jwt.expires-in}, client-credential tokens
+     *         {@code client-credentials.token-lifetime}.
+     */
+    private static Duration maxTokenLifetime(AppConfigurationProperties properties) {
+        Duration userTokens = Duration.ofSeconds(properties.getJwt().getExpiresIn());
+        Duration clientTokens = properties.getClientCredentials().getTokenLifetime();
+        return userTokens.compareTo(clientTokens) >= 0 ? userTokens : clientTokens;
+    }
+
+    /**
+     * @param userId The user id.
+     * @return The user's current permission version, or 0 if the user's
+     *         permissions have not changed recently.
+     */
+    public long currentVersion(UUID userId) {
+        if (size == 0) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(userId);
+            return slot == UuidIndex.ABSENT ? 0 : versions[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks a token's permission version against the user's current one.
+     *
+     * @param userId       The user id.
+     * @param tokenVersion The {@code pv} claim of the token, or null if absent.
+     * @return True if the token was minted before the user's last permission
+     *         change.
+     */
+    public boolean isStale(UUID userId, Long tokenVersion) {
+        long current = currentVersion(userId);
+        return current != 0 && (Objects.isNull(tokenVersion) || tokenVersion < current);
+    }
+
+    /**
+     * Records a permission change, invalidating every token minted for the
+     * user before now.
+     *
+     * @param userId The user id.
+     * @return The user's new version.
+     */
+    public long bump(UUID userId) {
+        long now = clock.millis();
+        lock.writeLock().lock();
+        try {
+            if (now >= nextSweepAt) {
+                sweep(now);
+            }
+
+            int slot = slotsById.get(userId);
+            if (slot == UuidIndex.ABSENT) {
+                slot = allocateSlot();
+                mostSignificant[slot] = userId.getMostSignificantBits();
+                leastSignificant[slot] = userId.getLeastSignificantBits();
+                slotsById.put(userId, slot);
+                size++;
+            }
+            versions[slot] = Math.max(now, versions[slot] + 1);
+            return versions[slot];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of users currently tracked.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Evicts the entries whose last change is older than the maximum token
+     * lifetime. Runs at most a few times per lifetime, on the write path.
+     */
+    private void sweep(long now) {
+        int evicted = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (versions[slot] != 0 && versions[slot] + retentionMillis <= now) {
+                slotsById.remove(new UUID(mostSignificant[slot], leastSignificant[slot]));
+                versions[slot] = 0;
+                freeSlots[freeCount++] = slot;
+                evicted++;
+            }
+        }
+        size -= evicted;
+        nextSweepAt = now + Math.max(1, retentionMillis / 4);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == versions.length) {
+            int capacity = versions.length * 2;
+            mostSignificant = Arrays.copyOf(mostSignificant, capacity);
+            leastSignificant = Arrays.copyOf(leastSignificant, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return nextSlot++;
+    }
+}
@@ -7,12 +7,18 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
-import com.authauz.authauz.common.Role;
-import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.audit.AuditEvent;
+import com.authauz.authauz.audit.AuditEventType;
+import com.authauz.authauz.audit.AuditLogger;
+import com.authauz.authauz.audit.AuditOutcome;
 import com.authauz.authauz.configuration.AppConfigurationProperties;
 import com.authauz.authauz.dto.AuthRequest;
 import com.authauz.authauz.dto.AuthResponse;
+import com.authauz.authauz.security.token.PermissionVersionRegistry;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
 import com.authauz.authauz.utils.JwtUtils;
+import com.authauz.authauz.utils.TokenClaims;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,18 +33,30 @@ import lombok.extern.slf4j.Slf4j;
  * demonstration purposes. In production, this should be replaced with dynamic
  * user
  * validation from a user database or another reliable source.
+ * <p>
+ * The demo credentials sign in as a seller admin stored in {@link UserStore}
+ * under {@link #DEMO_USER_ID}, seeded at startup by {@link DemoUserSeeder}. Tokens carry that user's id,
+ * current user type and role, and permission version, so that changing the
+ * user through {@code PUT /users/{id}} revokes the tokens minted before.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
+    public static final UUID DEMO_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    static final String DEMO_USERNAME = "user";
+
     private final JwtUtils jwtUtils;
     private final AppConfigurationProperties properties;
+    private final AuditLogger auditLogger;
+    private final PermissionVersionRegistry permissionVersions;
+    private final UserStore userStore;
 
     /**
      * Authenticates a user based on the provided credentials. If the credentials
      * match
-     * the hardcoded values, it generates a JWT token with the user's role and type.
+     * the hardcoded values, it generates a JWT token with the stored user's id,
+     * role and type.
      * 
      * @param request The authentication request containing username and password.
      * @return AuthResponse containing the username and generated JWT token.
@@ -46,37 +64,70 @@ public class AuthService {
      */
 
     public AuthResponse authenticate(AuthRequest request) {
+        long startedAt = System.nanoTime();
+        try {
+            AuthResponse response = issueToken(request);
+            audit(response.getUsername(), AuditOutcome.GRANTED, startedAt, null);
+            return response;
+        } catch (RuntimeException e) {
+            audit(Objects.isNull(request) ? null : request.getUsername(), AuditOutcome.DENIED, startedAt,
+                    e.getMessage());
+            throw e;
+        }
+    }
+
+    private AuthResponse issueToken(AuthRequest request) {
         validateAuthRequest(request);
         String username = request.getUsername();
         String password = request.getPassword();
 
-        boolean isUserValid = username.equalsIgnoreCase("user") && Objects.equals(password, "password");
+        boolean isUserValid = username.equalsIgnoreCase(DEMO_USERNAME) && Objects.equals(password, "password");
+        // The demo user may have been deleted since startup
+        User user = isUserValid ? userStore.find(DEMO_USER_ID).orElse(null) : null;
 
-        if (!isUserValid) {
+        if (Objects.isNull(user)) {
             log.error("Invalid username or password for user: {}", username);
             throw new RuntimeException("Invalid username or password");
         }
 
-        // Hardcoded userType and role
-        var userType = UserType.SELLER;
-        var role = Role.ADMIN;
-
         var secretKey = jwtUtils.generateSecretKey(properties.getJwt().getSecret());
 
-        Map<String, String> claims = new HashMap<>();
-        claims.put("userType", userType.toString());
-        claims.put("role", role.toString());
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.USER_TYPE, user.getUserType().toString());
+        claims.put(TokenClaims.ROLE, user.getRole().toString());
+
+        // The audience is the id of the user the token is issued for
+        UUID audience = user.getId();
 
-        // For demonstration purposes, a random UUID is generated to serve as the
-        // audience. In a real application, this should be replaced with the actual user
-        // ID to indicate the intended recipient of the JWT. The audience claim
-        // typically refers to the entity for whom(recipients) the JWT is being issued,
-        // often the user or service consuming the token.
-        String audience = UUID.randomUUID().toString();
+        // Stamp the user's permission version, so that a later role change
+        // invalidates this token
+        long permissionVersion = permissionVersions.currentVersion(audience);
+        if (permissionVersion != 0) {
+            claims.put(TokenClaims.PERMISSION_VERSION, permissionVersion);
+        }
 
-        String token = jwtUtils.generateToken(username, audience, claims, properties.getJwt().getExpiresIn(),
+        String token = jwtUtils.generateToken(username, audience.toString(), claims, properties.getJwt().getExpiresIn(),
                 secretKey);
-        return AuthResponse.builder().username(username).userType(userType).role(role).token(token).build();
+        return AuthResponse.builder().username(username).userType(user.getUserType()).role(user.getRole())
+                .token(token).build();
+    }
+
+    /**
+     * Records the login decision in the security audit log.
+     */
+    private void audit(String username, AuditOutcome outcome, long startedAt, String reason) {
+        if (!auditLogger.isEnabled()) {
+            return;
+        }
+        auditLogger.record(AuditEvent.builder()
+                .timestamp(System.currentTimeMillis())
+                .type(AuditEventType.AUTHENTICATION)
+                .principal(username)
+                .endpoint("authenticate")
+                .outcome(outcome)
+                .latencyMicros((System.nanoTime() - startedAt) / 1000)
+                .reason(reason)
+                .build());
     }
 
     private void validateAuthRequest(AuthRequest request) {
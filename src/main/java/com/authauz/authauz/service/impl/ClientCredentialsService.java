@@ -0,0 +1,186 @@
+package com.authauz.authauz.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.authauz.authauz.audit.AuditEvent;
+import com.authauz.authauz.audit.AuditEventType;
+import com.authauz.authauz.audit.AuditLogger;
+import com.authauz.authauz.audit.AuditOutcome;
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.ClientCredentialsConfiguration;
+import com.authauz.authauz.configuration.AppConfigurationProperties.ClientCredentialsConfiguration.ServiceClient;
+import com.authauz.authauz.dto.ClientTokenResponse;
+import com.authauz.authauz.utils.JwtUtils;
+import com.authauz.authauz.utils.TokenClaims;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues bearer tokens to registered service clients through the OAuth 2.0
+ * client-credentials grant.
+ * <p>
+ * A client token carries the client's configured scopes in a space-delimited
+ * {@code scope} claim instead of a user type and role, and lives for the
+ * configured token lifetime rather than the user session length. The audience
+ * is a UUID derived from the client id, so per-principal quotas and
+ * {@code principal = USER_ID} conditions apply to clients as to users.
+ * <p>
+ * Issued tokens are cached per client: a client re-requesting within the
+ * reuse window gets the token it was issued before, with its remaining
+ * lifetime, instead of a freshly signed one. The cache holds at most one
+ * token per registered client.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientCredentialsService {
+    public static final String GRANT_TYPE = "client_credentials";
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtUtils jwtUtils;
+    private final AppConfigurationProperties properties;
+    private final AuditLogger auditLogger;
+
+    private final Map<String, IssuedToken> issued = new ConcurrentHashMap<>();
+
+    /**
+     * Authenticates the client and returns its access token.
+     *
+     * @param grantType    The requested grant type, which must be
+     *                     {@value #GRANT_TYPE}.
+     * @param clientId     The registered client id.
+     * @param clientSecret The client secret.
+     * @return The token response.
+     * @throws ResponseStatusException With the RFC 6749 error code as reason: 404
+     *                                 when the grant is disabled, 400
+     *                                 {@code unsupported_grant_type} or
+     *                                 {@code unauthorized_client}, 401
+     *                                 {@code invalid_client}.
+     */
+    public ClientTokenResponse issueToken(String grantType, String clientId, String clientSecret) {
+        long startedAt = System.nanoTime();
+        try {
+            ClientTokenResponse response = authenticateAndIssue(grantType, clientId, clientSecret);
+            audit(clientId, AuditOutcome.GRANTED, startedAt, null);
+            return response;
+        } catch (ResponseStatusException e) {
+            audit(clientId, AuditOutcome.DENIED, startedAt, e.getReason());
+            throw e;
+        }
+    }
+
+    /**
+     * Derives the principal id of a service client, stable across restarts and
+     * instances.
+     *
+     * @param clientId The registered client id.
+     * @return The principal id used as the token audience.
+     */
+    public static UUID principalId(String clientId) {
+        return UUID.nameUUIDFromBytes(("client:" + clientId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClientTokenResponse authenticateAndIssue(String grantType, String clientId, String clientSecret) {
+        ClientCredentialsConfiguration config = properties.getClientCredentials();
+        if (!config.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (!GRANT_TYPE.equals(grantType)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported_grant_type");
+        }
+
+        ServiceClient client = Objects.isNull(clientId) ? null : config.getClients().get(clientId);
+        if (Objects.isNull(client) || !secretMatches(client, clientSecret)) {
+            log.warn("Rejected client credentials for client: {}", clientId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid_client");
+        }
+        String scope = scopeOf(client.getScopes());
+        if (Objects.isNull(scope)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unauthorized_client");
+        }
+
+        long now = System.currentTimeMillis();
+        long reuseMillis = Math.min(config.getReuseWindow().toMillis(), config.getTokenLifetime().toMillis());
+        IssuedToken token = issued.compute(clientId, (id, current) -> Objects.nonNull(current)
+                && current.scope.equals(scope) && now - current.issuedAt < reuseMillis
+                && current.expiresAt > now ? current : sign(id, scope, config, now));
+
+        return ClientTokenResponse.builder()
+                .accessToken(token.token)
+                .tokenType(TOKEN_TYPE)
+                .expiresIn((token.expiresAt - now) / 1000)
+                .scope(scope)
+                .build();
+    }
+
+    private IssuedToken sign(String clientId, String scope, ClientCredentialsConfiguration config, long now) {
+        int lifetimeSeconds = (int) config.getTokenLifetime().toSeconds();
+        String token = jwtUtils.generateToken(clientId, principalId(clientId).toString(),
+                Map.of(TokenClaims.SCOPE, scope), lifetimeSeconds,
+                jwtUtils.generateSecretKey(properties.getJwt().getSecret()));
+        return new IssuedToken(token, scope, now, now + lifetimeSeconds * 1000L);
+    }
+
+    private static boolean secretMatches(ServiceClient client, String presented) {
+        if (Objects.isNull(client.getSecret()) || Objects.isNull(presented)) {
+            return false;
+        }
+        return MessageDigest.isEqual(client.getSecret().getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Joins the client's scopes into the claim value, or returns null if the
+     * client holds no grantable scope.
+     */
+    private static String scopeOf(List<AppScopes> scopes) {
+        String scope = scopes.stream()
+                .filter(s -> Objects.nonNull(s.getValue()))
+                .map(AppScopes::getValue)
+                .distinct()
+                .collect(Collectors.joining(" "));
+        return scope.isEmpty() ? null : scope;
+    }
+
+    private void audit(String clientId, AuditOutcome outcome, long startedAt, String reason) {
+        if (!auditLogger.isEnabled()) {
+            return;
+        }
+        auditLogger.record(AuditEvent.builder()
+                .timestamp(System.currentTimeMillis())
+                .type(AuditEventType.AUTHENTICATION)
+                .principal(clientId)
+                .endpoint("token")
+                .outcome(outcome)
+                .latencyMicros((System.nanoTime() - startedAt) / 1000)
+                .reason(reason)
+                .build());
+    }
+
+    private static final class IssuedToken {
+        private final String token;
+        private final String scope;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        private IssuedToken(String token, String scope, long issuedAt, long expiresAt) {
+            this.token = token;
+            this.scope = scope;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.authauz.authauz.service.impl;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeds the seller admin the demo credentials of {@link AuthService} sign in
+ * as, under {@link AuthService#DEMO_USER_ID}.
+ * <p>
+ * Runs once every singleton has been created, so the user exists before the
+ * web server accepts its first login.
+ */
+@Component
+@RequiredArgsConstructor
+public class DemoUserSeeder implements SmartInitializingSingleton {
+    private final UserStore userStore;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        userStore.create(User.builder()
+                .id(AuthService.DEMO_USER_ID)
+                .name(AuthService.DEMO_USERNAME)
+                .email(AuthService.DEMO_USERNAME + "@example.com")
+                .userType(UserType.SELLER)
+                .role(Role.ADMIN)
+                .build());
+    }
+}
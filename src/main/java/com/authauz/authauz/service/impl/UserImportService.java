@@ -0,0 +1,476 @@
+package com.authauz.authauz.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.UserImportConfiguration;
+import com.authauz.authauz.dto.UserRequest;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports users in bulk from an NDJSON or CSV request body, streaming back one
+ * NDJSON result line per row and a final summary line.
+ * <p>
+ * The body is read incrementally, line by line, on the request's streaming
+ * thread and cut into batches. Each batch is validated and inserted on a
+ * worker thread, under a single store lock acquisition. At most
+ * {@code maxInFlightBatches} batches are pending at once and results are
+ * written as soon as the oldest batch completes, so memory use is bounded by
+ * the batch size, the number of batches in flight and the maximum line length,
+ * whatever the size of the upload. Results are written in row order.
+ * <p>
+ * CSV bodies start with a header naming the columns ({@code name},
+ * {@code email}, {@code userType}, {@code role}, in any order); fields may be
+ * double-quoted but not span lines. Rows are identified in the results by
+ * their line number in the body.
+ */
+@Slf4j
+@Service
+public class UserImportService implements DisposableBean {
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private static final int MAX_NAME_LENGTH = 256;
+    private static final int MAX_EMAIL_LENGTH = 320;
+
+    private final UserStore userStore;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final UserImportConfiguration config;
+    private final ExecutorService workers;
+
+    public UserImportService(UserStore userStore, ObjectMapper objectMapper, AppConfigurationProperties properties) {
+        this.userStore = userStore;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(UserRequest.class);
+        this.config = properties.getUserImport();
+        this.workers = Executors.newFixedThreadPool(config.getWorkers(), new ImportThreadFactory());
+    }
+
+    /**
+     * Prepares an import of the given body.
+     *
+     * @param body        The request body.
+     * @param contentType {@code application/x-ndjson} or {@code text/csv}.
+     * @return A body streaming the per-row results as NDJSON.
+     */
+    public StreamingResponseBody importUsers(InputStream body, MediaType contentType) {
+        boolean csv = TEXT_CSV.includes(contentType);
+        Charset charset = Objects.requireNonNullElse(contentType.getCharset(), StandardCharsets.UTF_8);
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are terminated explicitly instead of separated by spaces
+                generator.setRootValueSeparator(null);
+                new Import(new LineReader(new InputStreamReader(body, charset), config.getMaxLineLength()),
+                        csv, generator).run();
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Validates a batch and inserts its valid rows.
+     */
+    private RowResult[] importBatch(List<ParsedRow> rows) {
+        User[] users = new User[rows.size()];
+        String[] errors = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ParsedRow row = rows.get(i);
+            errors[i] = Objects.nonNull(row.error) ? row.error : validate(row.request);
+            if (Objects.isNull(errors[i])) {
+                users[i] = User.builder()
+                        .id(UUID.randomUUID())
+                        .name(row.request.getName())
+                        .email(row.request.getEmail())
+                        .userType(row.request.getUserType())
+                        .role(row.request.getRole())
+                        .build();
+            }
+        }
+
+        User[] stored = userStore.createAll(users);
+        RowResult[] results = new RowResult[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            if (Objects.nonNull(stored[i])) {
+                results[i] = new RowResult(rows.get(i).line, stored[i].getId(), null);
+            } else {
+                results[i] = new RowResult(rows.get(i).line, null,
+                        Objects.requireNonNullElse(errors[i], "User could not be stored"));
+            }
+        }
+        return results;
+    }
+
+    private static String validate(UserRequest request) {
+        if (Objects.isNull(request.getUserType()) || Objects.isNull(request.getRole())) {
+            return "User type and role are required";
+        }
+        if (Objects.nonNull(request.getName()) && request.getName().length() > MAX_NAME_LENGTH) {
+            return "Name exceeds " + MAX_NAME_LENGTH + " characters";
+        }
+        if (Objects.nonNull(request.getEmail())
+                && (request.getEmail().length() > MAX_EMAIL_LENGTH || request.getEmail().indexOf('@') < 1)) {
+            return "Email is invalid";
+        }
+        return null;
+    }
+
+    /**
+     * A single import: parses the body into batches, dispatches them to the
+     * workers and writes their results in order.
+     */
+    private final class Import {
+        private final LineReader lines;
+        private final boolean csv;
+        private final JsonGenerator generator;
+        private final Deque<Future<RowResult[]>> pending = new ArrayDeque<>();
+        private int[] columns;
+        private int rows;
+        private int created;
+
+        Import(LineReader lines, boolean csv, JsonGenerator generator) {
+            this.lines = lines;
+            this.csv = csv;
+            this.generator = generator;
+        }
+
+        void run() throws IOException {
+            try {
+                List<ParsedRow> batch = new ArrayList<>(config.getBatchSize());
+                while (lines.next()) {
+                    if (lines.isBlank()) {
+                        continue;
+                    }
+                    if (csv && Objects.isNull(columns)) {
+                        if (!readHeader()) {
+                            return;
+                        }
+                        continue;
+                    }
+
+                    batch.add(parse());
+                    if (batch.size() == config.getBatchSize()) {
+                        submit(batch);
+                        batch = new ArrayList<>(config.getBatchSize());
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    submit(batch);
+                }
+                while (!pending.isEmpty()) {
+                    writeResults(await(pending.poll()));
+                }
+                writeSummary();
+            } finally {
+                // Client gone or worker failure: do not import the rest
+                pending.forEach(el -> el.cancel(true));
+            }
+        }
+
+        private void submit(List<ParsedRow> batch) throws IOException {
+            pending.add(workers.submit(() -> importBatch(batch)));
+            while (pending.size() >= config.getMaxInFlightBatches()
+                    || (!pending.isEmpty() && pending.peek().isDone())) {
+                writeResults(await(pending.poll()));
+            }
+        }
+
+        private ParsedRow parse() {
+            int line = lines.getLineNumber();
+            if (lines.isTruncated()) {
+                return new ParsedRow(line, null, "Row exceeds " + config.getMaxLineLength() + " characters");
+            }
+            if (!csv) {
+                try {
+                    return new ParsedRow(line, requestReader.readValue(lines.toString()), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+
+            List<String> fields = CsvFields.split(lines.toString());
+            if (Objects.isNull(fields)) {
+                return new ParsedRow(line, null, "Malformed CSV: unbalanced quotes");
+            }
+            try {
+                return new ParsedRow(line, UserRequest.builder()
+                        .name(field(fields, 0))
+                        .email(field(fields, 1))
+                        .userType(Objects.isNull(field(fields, 2)) ? null
+                                : UserType.valueOf(field(fields, 2).toUpperCase(Locale.ROOT)))
+                        .role(Objects.isNull(field(fields, 3)) ? null
+                                : Role.valueOf(field(fields, 3).toUpperCase(Locale.ROOT)))
+                        .build(), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(line, null, "Unknown user type or role");
+            }
+        }
+
+        /**
+         * Maps the header to column positions of name, email, userType and
+         * role, writing an error line if it lacks userType or role.
+         */
+        private boolean readHeader() throws IOException {
+            columns = new int[] { -1, -1, -1, -1 };
+            List<String> names = Objects.requireNonNullElse(CsvFields.split(lines.toString()), List.of());
+            for (int i = 0; i < names.size(); i++) {
+                switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> columns[0] = i;
+                    case "email" -> columns[1] = i;
+                    case "usertype" -> columns[2] = i;
+                    case "role" -> columns[3] = i;
+                    default -> {
+                        // Unknown columns are ignored
+                    }
+                }
+            }
+            if (columns[2] >= 0 && columns[3] >= 0) {
+                return true;
+            }
+
+            generator.writeStartObject();
+            generator.writeNumberField("line", lines.getLineNumber());
+            generator.writeStringField("error", "CSV header must name the userType and role columns");
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            return false;
+        }
+
+        private String field(List<String> fields, int column) {
+            int index = columns[column];
+            if (index < 0 || index >= fields.size() || fields.get(index).isBlank()) {
+                return null;
+            }
+            return fields.get(index).trim();
+        }
+
+        private void writeResults(RowResult[] results) throws IOException {
+            for (RowResult result : results) {
+                rows++;
+                generator.writeStartObject();
+                generator.writeNumberField("line", result.line);
+                if (Objects.nonNull(result.id)) {
+                    created++;
+                    generator.writeStringField("status", "created");
+                    generator.writeStringField("id", result.id.toString());
+                } else {
+                    generator.writeStringField("status", "rejected");
+                    generator.writeStringField("error", result.error);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+
+        private void writeSummary() throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("rows", rows);
+            generator.writeNumberField("created", created);
+            generator.writeNumberField("rejected", rows - created);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+            log.info("Imported {} of {} users", created, rows);
+        }
+
+        private RowResult[] await(Future<RowResult[]> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("User import interrupted");
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("User import batch failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Reads a body line by line into a reused buffer, keeping at most
+     * {@code maxLength} characters of each line and discarding the rest.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private int lineNumber;
+        private boolean truncated;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        boolean next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        break;
+                    }
+                }
+                read = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    break;
+                }
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    truncated = true;
+                }
+            }
+            if (!read) {
+                return false;
+            }
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            lineNumber++;
+            return true;
+        }
+
+        int getLineNumber() {
+            return lineNumber;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        boolean isBlank() {
+            return !truncated && line.toString().isBlank();
+        }
+
+        @Override
+        public String toString() {
+            return line.toString();
+        }
+    }
+
+    /**
+     * Splits a CSV line into fields, honouring double quotes and doubled
+     * quotes inside them.
+     */
+    private static final class CsvFields {
+
+        private CsvFields() {
+        }
+
+        /**
+         * @return The fields, or null if a quoted field is not closed.
+         */
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class ParsedRow {
+        private final int line;
+        private final UserRequest request;
+        private final String error;
+
+        ParsedRow(int line, UserRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    private static final class RowResult {
+        private final int line;
+        private final UUID id;
+        private final String error;
+
+        RowResult(int line, UUID id, String error) {
+            this.line = line;
+            this.id = id;
+            this.error = error;
+        }
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
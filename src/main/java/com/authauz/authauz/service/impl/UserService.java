@@ -1,8 +1,33 @@
 package com.authauz.authauz.service.impl;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.UsersConfiguration;
+import com.authauz.authauz.dto.UserRequest;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.exception.ForbiddenException;
+import com.authauz.authauz.security.policy.EndpointPolicy;
+import com.authauz.authauz.security.token.PermissionVersionRegistry;
+import com.authauz.authauz.store.KeysetCursor;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
 
 /**
  * UserService is a Spring Service class that handles the business logic
@@ -10,37 +35,246 @@ import org.springframework.stereotype.Service;
  *
  * <ul>
  * <li>Creating a new user</li>
- * <li>Retrieving a list of users</li>
+ * <li>Listing users, page by page</li>
  * <li>Fetching details of a specific user by their ID</li>
  * <li>Updating an existing user by their ID</li>
  * <li>Deleting a user by their ID</li>
  * </ul>
  *
- * Each method returns a success message for demonstration purposes.
- * In a real-world application, these methods would typically interact with
- * a database or an external API to perform the necessary operations.
+ * Choosing a user's type or role is reserved to seller admins. The checks read
+ * the principal bound by {@link PrincipalScope} and deny when none is bound;
+ * trusted in-process callers that act on no principal's behalf use the
+ * {@code AsSystem} variants instead.
+ * <p>
+ * Users are kept in the in-memory {@link UserStore}. Listing is
+ * keyset-paginated and streamed: each page is written to the response in small
+ * batches as it is read from the store, so neither the page nor the user list
+ * is ever materialized.
  */
-
 @Service
+@RequiredArgsConstructor
 public class UserService {
-    public String createUser() {
-        return "User created successfully";
+    // Users copied from the store per read-lock acquisition while streaming
+    private static final int STREAM_BATCH_SIZE = 256;
+    // Callers allowed to choose or change a user's type or role
+    private static final EndpointPolicy PERMISSION_MANAGERS = EndpointPolicy.ofScopes(AppScopes.SELLER_ADMIN);
+
+    private final UserStore userStore;
+    private final ObjectMapper objectMapper;
+    private final AppConfigurationProperties properties;
+    private final PermissionVersionRegistry permissionVersions;
+
+    /**
+     * Creates a user. Seller admins may create any user; other callers, such as
+     * customers signing up, may only create customers.
+     *
+     * @param request The user to create.
+     * @return The created user.
+     * @throws ForbiddenException If the caller may not create a user of the
+     *                            requested type.
+     */
+    public User createUser(UserRequest request) {
+        validateUserRequest(request);
+        RequestContext caller = PrincipalScope.currentContext();
+        if (request.getUserType() != UserType.CUSTOMER && !mayManagePermissions(caller)) {
+            throw new ForbiddenException("Authorization failed: " + describe(caller) + " attempted to create a "
+                    + request.getUserType() + " user");
+        }
+        return create(request);
     }
 
-    public String getUsers() {
-        return "Users retrieved successfully";
+    /**
+     * Creates a user of any type and role without checking the caller. Only
+     * for in-process callers acting on no principal's behalf; request handling
+     * must go through {@link #createUser}.
+     *
+     * @param request The user to create.
+     * @return The created user.
+     */
+    public User createUserAsSystem(UserRequest request) {
+        validateUserRequest(request);
+        return create(request);
     }
 
-    public String getUser(UUID id) {
-        return "User with id " + id + " retrieved successfully";
+    /**
+     * Prepares one page of users, in creation order.
+     *
+     * @param userType Only list users of this type, if set.
+     * @param role     Only list users with this role, if set.
+     * @param cursor   The {@code nextCursor} of the previous page, or null for
+     *                 the first page.
+     * @param limit    The page size, or null for the configured default; capped
+     *                 at the configured maximum.
+     * @return A body writing {@code {"users":[...],"nextCursor":...}}, where
+     *         {@code nextCursor} is null on the last page.
+     * @throws ResponseStatusException If the cursor or limit is invalid.
+     */
+    public StreamingResponseBody getUsers(UserType userType, Role role, String cursor, Integer limit) {
+        UsersConfiguration config = properties.getUsers();
+        int pageSize = Objects.isNull(limit) ? config.getDefaultPageSize()
+                : Math.min(limit, config.getMaxPageSize());
+        if (pageSize <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+
+        int fromSequence;
+        try {
+            fromSequence = Objects.isNull(cursor) ? 0 : KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+        }
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                writePage(generator, userType, role, fromSequence, pageSize);
+            }
+        };
     }
 
-    public String updateUser(UUID id) {
-        return "User with ID: " + id + " updated successfully";
+    public User getUser(UUID id) {
+        return userStore.find(id).orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Updates the fields set in the request. Changing the user type or role is
+     * reserved to seller admins: customers updating their own profile and CSRs
+     * may change the other fields only.
+     *
+     * @param id      The user id.
+     * @param request The fields to change.
+     * @return The updated user.
+     * @throws ForbiddenException If the caller may not change the user type or
+     *                            role.
+     */
+    public User updateUser(UUID id, UserRequest request) {
+        RequestContext caller = PrincipalScope.currentContext();
+        return update(id, request, caller, mayManagePermissions(caller));
+    }
+
+    /**
+     * Updates the fields set in the request, including the user type and role,
+     * without checking the caller. Only for in-process callers acting on no
+     * principal's behalf; request handling must go through
+     * {@link #updateUser}.
+     *
+     * @param id      The user id.
+     * @param request The fields to change.
+     * @return The updated user.
+     */
+    public User updateUserAsSystem(UUID id, UserRequest request) {
+        return update(id, request, null, true);
     }
 
     public String deleteUser(UUID id) {
+        userStore.delete(id).orElseThrow(() -> notFound(id));
+        permissionVersions.bump(id);
         return "User with ID: " + id + " deleted successfully";
     }
 
+    private User create(UserRequest request) {
+        return userStore.create(User.builder()
+                .id(UUID.randomUUID())
+                .name(request.getName())
+                .email(request.getEmail())
+                .userType(request.getUserType())
+                .role(request.getRole())
+                .build());
+    }
+
+    private User update(UUID id, UserRequest request, RequestContext caller, boolean mayChangePermissions) {
+        if (Objects.isNull(request)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is missing");
+        }
+        boolean[] permissionsChanged = new boolean[1];
+        User updated = userStore.update(id, current -> {
+            User next = current.toBuilder()
+                    .name(Objects.requireNonNullElse(request.getName(), current.getName()))
+                    .email(Objects.requireNonNullElse(request.getEmail(), current.getEmail()))
+                    .userType(Objects.requireNonNullElse(request.getUserType(), current.getUserType()))
+                    .role(Objects.requireNonNullElse(request.getRole(), current.getRole()))
+                    .build();
+            permissionsChanged[0] = next.getUserType() != current.getUserType()
+                    || next.getRole() != current.getRole();
+            if (permissionsChanged[0] && !mayChangePermissions) {
+                throw new ForbiddenException("Authorization failed: " + describe(caller)
+                        + " attempted to change the user type or role of user " + id);
+            }
+            return next;
+        }).orElseThrow(() -> notFound(id));
+
+        // Tokens minted before a role change must not keep the old permissions
+        if (permissionsChanged[0]) {
+            permissionVersions.bump(id);
+        }
+        return updated;
+    }
+
+    private void writePage(JsonGenerator generator, UserType userType, Role role, int fromSequence, int pageSize)
+            throws IOException {
+        User[] batch = new User[Math.min(pageSize, STREAM_BATCH_SIZE)];
+        int nextSequence = fromSequence;
+        int remaining = pageSize;
+        boolean exhausted = false;
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("users");
+        while (remaining > 0) {
+            int requested = Math.min(remaining, batch.length);
+            int count = userStore.scan(userType, role, nextSequence, batch, requested);
+            for (int i = 0; i < count; i++) {
+                writeUser(generator, batch[i]);
+            }
+            if (count > 0) {
+                nextSequence = batch[count - 1].getSequence() + 1;
+            }
+            Arrays.fill(batch, 0, count, null);
+            remaining -= count;
+            generator.flush();
+
+            if (count < requested) {
+                exhausted = true;
+                break;
+            }
+        }
+        generator.writeEndArray();
+
+        if (exhausted) {
+            generator.writeNullField("nextCursor");
+        } else {
+            generator.writeStringField("nextCursor", KeysetCursor.encode(nextSequence));
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeUser(JsonGenerator generator, User user) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", user.getId().toString());
+        generator.writeStringField("name", user.getName());
+        generator.writeStringField("email", user.getEmail());
+        generator.writeStringField("userType", user.getUserType().name());
+        generator.writeStringField("role", user.getRole().name());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Fails closed: with no principal bound, nobody may choose a type or role.
+     */
+    private static boolean mayManagePermissions(RequestContext caller) {
+        return Objects.nonNull(caller) && PERMISSION_MANAGERS.permits(caller);
+    }
+
+    private static String describe(RequestContext caller) {
+        return Objects.isNull(caller) ? "An unauthenticated caller" : "User " + caller.getUserId();
+    }
+
+    private void validateUserRequest(UserRequest request) {
+        if (Objects.isNull(request) || Objects.isNull(request.getUserType()) || Objects.isNull(request.getRole())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User type and role are required");
+        }
+    }
+
+    private ResponseStatusException notFound(UUID id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "User with ID: " + id + " not found");
+    }
 }
@@ -0,0 +1,32 @@
+package com.authauz.authauz.shadow;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint {@code /actuator/shadowpolicy} reporting how candidate
+ * policies diverge from the live authorization decisions. {@code DELETE}
+ * resets the counters.
+ */
+@Component
+@Endpoint(id = "shadowpolicy")
+@RequiredArgsConstructor
+public class ShadowPolicyEndpoint {
+    private final ShadowPolicyEvaluator evaluator;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        return evaluator.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        evaluator.reset();
+    }
+}
@@ -0,0 +1,197 @@
+package com.authauz.authauz.shadow;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.ShadowPolicyConfiguration;
+import com.authauz.authauz.security.policy.EndpointPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates candidate authorization policies in shadow mode next to the live
+ * decisions of {@code AuthorizeAspect}, and counts where they would diverge.
+ * <p>
+ * Candidates are configured per endpoint under
+ * {@code com.authauz.authauz.shadow-policy.candidates}, keyed as
+ * {@code ControllerSimpleName#method}, as the list of scopes the endpoint
+ * would require. A sampled fraction of the authenticated decisions on those
+ * endpoints is handed to a single background thread through a bounded queue;
+ * the request thread only draws a random number and offers a task, and
+ * samples are dropped (and counted) rather than queued without bound.
+ * <p>
+ * Divergences are aggregated per endpoint, direction and user type and role,
+ * into at most {@code max-divergence-keys} counters, and exposed by
+ * {@link ShadowPolicyEndpoint}.
+ */
+@Slf4j
+@Component
+public class ShadowPolicyEvaluator implements DisposableBean {
+    private static final Candidate NO_CANDIDATE = new Candidate(null, null);
+
+    private final ShadowPolicyConfiguration config;
+    private final Map<String, EndpointPolicy> candidates;
+    private final Map<Method, Candidate> byMethod = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> divergences = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder agreed = new LongAdder();
+    private final LongAdder wouldDeny = new LongAdder();
+    private final LongAdder wouldGrant = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    public ShadowPolicyEvaluator(AppConfigurationProperties properties) {
+        this.config = properties.getShadowPolicy();
+        this.candidates = config.getCandidates().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        e -> EndpointPolicy.ofScopes(e.getValue().toArray(AppScopes[]::new))));
+
+        if (config.isEnabled()) {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+                        Thread thread = new Thread(runnable, "shadow-policy");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            log.info("Shadow policy evaluation enabled for {} at sample rate {}", candidates.keySet(),
+                    config.getSampleRate());
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Offers a live authorization decision for shadow evaluation. Returns
+     * immediately; the candidate policy is evaluated in the background.
+     *
+     * @param method  The handler method.
+     * @param ctx     The authenticated user context.
+     * @param granted The live decision.
+     */
+    public void observe(Method method, RequestContext ctx, boolean granted) {
+        if (Objects.isNull(executor)) {
+            return;
+        }
+        Candidate candidate = byMethod.get(method);
+        if (Objects.isNull(candidate)) {
+            candidate = byMethod.computeIfAbsent(method, this::candidateFor);
+        }
+        if (candidate == NO_CANDIDATE || ThreadLocalRandom.current().nextDouble() >= config.getSampleRate()) {
+            return;
+        }
+
+        sampled.increment();
+        Candidate sample = candidate;
+        try {
+            executor.execute(() -> evaluate(sample, ctx, granted));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @return The configuration, counters and divergences observed so far.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", config.isEnabled());
+        report.put("sampleRate", config.getSampleRate());
+        report.put("candidates", candidates.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getScopes())));
+        report.put("sampled", sampled.sum());
+        report.put("dropped", dropped.sum());
+        report.put("agreed", agreed.sum());
+        report.put("wouldDeny", wouldDeny.sum());
+        report.put("wouldGrant", wouldGrant.sum());
+        report.put("untrackedDivergences", untracked.sum());
+        report.put("divergences", divergences.entrySet().stream()
+                .map(e -> divergence(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparing((Map<String, Object> el) -> (Long) el.get("count")).reversed())
+                .collect(Collectors.toList()));
+        return report;
+    }
+
+    /**
+     * Clears the counters, e.g. after changing the candidates.
+     */
+    public void reset() {
+        List.of(sampled, dropped, agreed, wouldDeny, wouldGrant, untracked).forEach(LongAdder::reset);
+        divergences.clear();
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(executor)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void evaluate(Candidate candidate, RequestContext ctx, boolean granted) {
+        boolean candidateGrants = candidate.policy.permits(ctx);
+        if (candidateGrants == granted) {
+            agreed.increment();
+            return;
+        }
+
+        String direction = granted ? "WOULD_DENY" : "WOULD_GRANT";
+        (granted ? wouldDeny : wouldGrant).increment();
+
+        String key = candidate.endpoint + " " + direction + " " + ctx.getUserType() + ":" + ctx.getRole();
+        LongAdder counter = divergences.get(key);
+        if (Objects.isNull(counter)) {
+            if (divergences.size() >= config.getMaxDivergenceKeys()) {
+                untracked.increment();
+                return;
+            }
+            counter = divergences.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private Candidate candidateFor(Method method) {
+        String endpoint = ClassUtils.getUserClass(method.getDeclaringClass()).getSimpleName() + "#" + method.getName();
+        EndpointPolicy policy = candidates.get(endpoint);
+        return Objects.isNull(policy) ? NO_CANDIDATE : new Candidate(endpoint, policy);
+    }
+
+    private static Map<String, Object> divergence(String key, long count) {
+        String[] parts = key.split(" ");
+        Map<String, Object> divergence = new LinkedHashMap<>();
+        divergence.put("endpoint", parts[0]);
+        divergence.put("divergence", parts[1]);
+        divergence.put("principal", parts[2]);
+        divergence.put("count", count);
+        return divergence;
+    }
+
+    private static final class Candidate {
+        private final String endpoint;
+        private final EndpointPolicy policy;
+
+        Candidate(String endpoint, EndpointPolicy policy) {
+            this.endpoint = endpoint;
+            this.policy = policy;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.authauz.authauz.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count-min sketch over 64-bit hashes: {@code depth} rows of
+ * {@code width} counters in a single {@link AtomicLongArray}.
+ * <p>
+ * Estimates never undercount; they overcount by at most
+ * {@code e * total / width} with probability {@code 1 - e^-depth}. The row
+ * indexes are derived from the two halves of the hash
+ * ({@code h1 + i * h2}), so one hash serves every row.
+ */
+public final class CountMinSketch {
+    private final int depth;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth The number of rows.
+     * @param width The number of counters per row, rounded up to a power of
+     *              two.
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Count-min sketch depth and width must be positive");
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * Counts one occurrence of a hashed element.
+     *
+     * @param hash A well mixed 64-bit hash of the element.
+     * @return The element's estimated count, including this occurrence.
+     */
+    public long add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & widthMask;
+            estimate = Math.min(estimate, counters.incrementAndGet(row * (widthMask + 1) + column));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param hash A well mixed 64-bit hash of the element.
+     * @return The element's estimated count.
+     */
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & widthMask;
+            estimate = Math.min(estimate, counters.get(row * (widthMask + 1) + column));
+        }
+        return estimate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.authauz.authauz.sketch;
+
+import java.util.UUID;
+
+/**
+ * 64-bit hashes feeding the sketches. Both sketches read different bits of
+ * the same hash, so it must be well mixed over all 64 bits.
+ */
+final class Hashing {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    static long hash(UUID uuid) {
+        return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+    }
+
+    static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
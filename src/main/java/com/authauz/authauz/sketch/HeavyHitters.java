@@ -0,0 +1,80 @@
+package com.authauz.authauz.sketch;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Top-K heaviest keys of a stream, estimated with a {@link CountMinSketch}.
+ * <p>
+ * Every occurrence is counted in the sketch. A key becomes a candidate once
+ * its estimate reaches the smallest estimate of the current top K, and the
+ * candidate set is pruned back to K whenever it grows past twice that, so
+ * memory stays fixed: the sketch, and at most {@code 2 * k} candidates plus
+ * whatever concurrent adds slip in during a prune. Pruning is done by a
+ * single thread at a time; other threads keep counting meanwhile.
+ *
+ * @param <K> The key type.
+ */
+public final class HeavyHitters<K> {
+    private final int k;
+    private final CountMinSketch sketch;
+    private final Map<K, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long floor;
+
+    /**
+     * @param k      The number of heavy hitters to track.
+     * @param sketch The sketch counting every key.
+     */
+    public HeavyHitters(int k, CountMinSketch sketch) {
+        this.k = k;
+        this.sketch = sketch;
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key  The key.
+     * @param hash A well mixed 64-bit hash of the key.
+     */
+    public void add(K key, long hash) {
+        long estimate = sketch.add(hash);
+        if (estimate < floor) {
+            return;
+        }
+        candidates.put(key, estimate);
+        if (candidates.size() > 2 * k && pruning.compareAndSet(false, true)) {
+            try {
+                prune();
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return The heaviest keys, heaviest first, with their estimated counts.
+     */
+    public Map<K, Long> top() {
+        return candidates.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(k)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private void prune() {
+        List<Map.Entry<K, Long>> ranked = candidates.entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue()))
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+        for (Map.Entry<K, Long> evicted : ranked.subList(k, ranked.size())) {
+            candidates.remove(evicted.getKey(), evicted.getValue());
+        }
+        floor = ranked.get(k - 1).getValue();
+    }
+}
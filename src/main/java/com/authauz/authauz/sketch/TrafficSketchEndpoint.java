@@ -0,0 +1,27 @@
+package com.authauz.authauz.sketch;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint {@code /actuator/trafficsketch} reporting the distinct
+ * active principals and the heaviest principals and endpoints of the current
+ * and the last finished window. The report names principal ids, so only
+ * seller admins may read it.
+ */
+@Component
+@Endpoint(id = "trafficsketch")
+@RequiredArgsConstructor
+public class TrafficSketchEndpoint {
+    private final TrafficSketches sketches;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        return sketches.report();
+    }
+}
@@ -0,0 +1,124 @@
+package com.authauz.authauz.sketch;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.TrafficSketchConfiguration;
+
+/**
+ * Streaming summaries of authenticated traffic per fixed time window, for
+ * capacity planning without per-user records: a {@link HyperLogLog} of the
+ * distinct active principals, and {@link HeavyHitters} of the busiest
+ * principals and endpoints.
+ * <p>
+ * Every successful authentication is recorded with a handful of atomic
+ * updates into preallocated arrays. Windows are aligned to the epoch; the
+ * first record after a window ends swaps in a fresh one with a
+ * compare-and-set and keeps the finished window for reporting. Memory is
+ * fixed at two windows of sketches.
+ */
+@Component
+public class TrafficSketches {
+    private final TrafficSketchConfiguration config;
+    private final long windowMillis;
+    private final AtomicReference<Window> current;
+    private volatile Window previous;
+
+    public TrafficSketches(AppConfigurationProperties properties) {
+        this.config = properties.getTrafficSketch();
+        this.windowMillis = config.getWindow().toMillis();
+        this.current = new AtomicReference<>(newWindow(System.currentTimeMillis()));
+    }
+
+    /**
+     * @return True if authenticated traffic should be recorded.
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Records one authenticated request.
+     *
+     * @param principal The authenticated principal id.
+     * @param endpoint  The request method and route pattern, or null if
+     *                  unknown.
+     */
+    public void record(UUID principal, String endpoint) {
+        Window window = windowAt(System.currentTimeMillis());
+        long principalHash = Hashing.hash(principal);
+
+        window.requests.increment();
+        window.principals.add(principalHash);
+        window.topPrincipals.add(principal, principalHash);
+        if (Objects.nonNull(endpoint)) {
+            window.topEndpoints.add(endpoint, Hashing.hash(endpoint));
+        }
+    }
+
+    /**
+     * @return The summaries of the current, still open window and of the last
+     *         finished one.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("window", config.getWindow().toString());
+        report.put("current", windowAt(System.currentTimeMillis()).report());
+        Window finished = previous;
+        report.put("previous", Objects.isNull(finished) ? null : finished.report());
+        return report;
+    }
+
+    private Window windowAt(long now) {
+        Window window = current.get();
+        while (now >= window.start + windowMillis) {
+            Window next = newWindow(now);
+            if (current.compareAndSet(window, next)) {
+                // A gap of more than one window means the finished one is stale
+                previous = now < window.start + 2 * windowMillis ? window : null;
+                return next;
+            }
+            window = current.get();
+        }
+        return window;
+    }
+
+    private Window newWindow(long now) {
+        return new Window(now - now % windowMillis, config);
+    }
+
+    private static final class Window {
+        private final long start;
+        private final LongAdder requests = new LongAdder();
+        private final HyperLogLog principals;
+        private final HeavyHitters<UUID> topPrincipals;
+        private final HeavyHitters<String> topEndpoints;
+
+        private Window(long start, TrafficSketchConfiguration config) {
+            this.start = start;
+            this.principals = new HyperLogLog(config.getHllPrecision());
+            this.topPrincipals = new HeavyHitters<>(config.getTopK(),
+                    new CountMinSketch(config.getCmsDepth(), config.getCmsWidth()));
+            this.topEndpoints = new HeavyHitters<>(config.getTopK(),
+                    new CountMinSketch(config.getCmsDepth(), config.getCmsWidth()));
+        }
+
+        private Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("start", Instant.ofEpochMilli(start).toString());
+            report.put("requests", requests.sum());
+            report.put("distinctPrincipals", principals.estimate());
+            report.put("topPrincipals", topPrincipals.top());
+            report.put("topEndpoints", topEndpoints.top());
+            return report;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.authauz.authauz.store;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset pagination position, the sequence to resume a
+ * {@link UserStore#scan} from, as an opaque URL-safe cursor.
+ */
+public final class KeysetCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param sequence The sequence to resume from.
+     * @return The cursor.
+     */
+    public static String encode(int sequence) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt(sequence).array());
+    }
+
+    /**
+     * @param cursor A cursor returned by {@link #encode(int)}.
+     * @return The sequence to resume from.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    public static int decode(String cursor) {
+        byte[] bytes = DECODER.decode(cursor);
+        if (bytes.length != Integer.BYTES) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        int sequence = ByteBuffer.wrap(bytes).getInt();
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,31 @@
+package com.authauz.authauz.store;
+
+import java.util.UUID;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * An immutable user record held by {@link UserStore}. Updates replace the
+ * record with a modified copy built through {@link #toBuilder()}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class User {
+    private UUID id;
+    private String name;
+    private String email;
+    private UserType userType;
+    private Role role;
+
+    /**
+     * The position of the record in the store's insertion order, assigned by
+     * the store and used as the keyset pagination key.
+     */
+    @JsonIgnore
+    private int sequence;
+}
@@ -0,0 +1,273 @@
+package com.authauz.authauz.store;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+
+/**
+ * In-memory user store with a primitive primary index and bitmap secondary
+ * indexes, designed so that lookups and page reads cost the same with a
+ * thousand users or ten million.
+ * <p>
+ * Records are appended to fixed-size segments in insertion order and
+ * addressed by their sequence number, so growing the store never copies
+ * existing records. The {@link UuidIndex} maps ids to sequences; one
+ * {@link BitSet} per {@link UserType}, per {@link Role} and per type and role
+ * pair, plus one of live records, hold a bit per sequence (an eighth of a byte
+ * per user and index). The pair sets are the precomputed intersection of the
+ * other two, so a scan filtered on both only visits matching users.
+ * Deleting a record clears its slot and bits; sequences are never reused.
+ * <p>
+ * Listing is keyset-paginated on the sequence: {@link #scan} resumes from a
+ * sequence with {@link BitSet#nextSetBit(int)}, so a page costs the same
+ * whatever its position, unlike an offset that must skip every earlier row.
+ * Readers share a read lock that is held for one batch at a time, never while
+ * writing to a client.
+ */
+@Component
+public class UserStore {
+    private static final int SEGMENT_SHIFT = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int ROLE_COUNT = Role.values().length;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidIndex byId = new UuidIndex();
+    private final BitSet live = new BitSet();
+    private final Map<UserType, BitSet> byUserType = new EnumMap<>(UserType.class);
+    private final Map<Role, BitSet> byRole = new EnumMap<>(Role.class);
+    private final BitSet[] byUserTypeAndRole = new BitSet[UserType.values().length * ROLE_COUNT];
+    private User[][] segments = new User[16][];
+    private int nextSequence;
+
+    public UserStore() {
+        for (UserType userType : UserType.values()) {
+            byUserType.put(userType, new BitSet());
+        }
+        for (Role role : Role.values()) {
+            byRole.put(role, new BitSet());
+        }
+        for (int i = 0; i < byUserTypeAndRole.length; i++) {
+            byUserTypeAndRole[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Appends a new user.
+     *
+     * @param user The user, whose id must not be stored yet.
+     * @return The stored record, carrying its sequence.
+     * @throws IllegalStateException If a user with the same id exists.
+     */
+    public User create(User user) {
+        lock.writeLock().lock();
+        try {
+            return append(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of new users under a single lock acquisition. Users whose
+     * id is already stored are skipped.
+     *
+     * @param users The users to append.
+     * @return The stored records, index-aligned with the input; null where a
+     *         user was skipped.
+     */
+    public User[] createAll(User[] users) {
+        User[] stored = new User[users.length];
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < users.length; i++) {
+                if (Objects.nonNull(users[i]) && byId.get(users[i].getId()) == UuidIndex.ABSENT) {
+                    stored[i] = append(users[i]);
+                }
+            }
+            return stored;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id The user id.
+     * @return The user, if stored.
+     */
+    public Optional<User> find(UUID id) {
+        lock.readLock().lock();
+        try {
+            int sequence = byId.get(id);
+            return sequence == UuidIndex.ABSENT ? Optional.empty() : Optional.of(read(sequence));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a user with a modified copy, keeping its id and position.
+     *
+     * @param id     The user id.
+     * @param update Builds the new record from the stored one.
+     * @return The updated record, or empty if the user is not stored.
+     */
+    public Optional<User> update(UUID id, UnaryOperator<User> update) {
+        lock.writeLock().lock();
+        try {
+            int sequence = byId.get(id);
+            if (sequence == UuidIndex.ABSENT) {
+                return Optional.empty();
+            }
+
+            User current = read(sequence);
+            User updated = update.apply(current).toBuilder().id(id).sequence(sequence).build();
+            clear(current);
+            write(updated);
+            return Optional.of(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id The user id.
+     * @return The removed record, or empty if the user is not stored.
+     */
+    public Optional<User> delete(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int sequence = byId.remove(id);
+            if (sequence == UuidIndex.ABSENT) {
+                return Optional.empty();
+            }
+
+            User removed = read(sequence);
+            clear(removed);
+            segments[sequence >>> SEGMENT_SHIFT][sequence & (SEGMENT_SIZE - 1)] = null;
+            return Optional.of(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the next users in insertion order, starting at a sequence and
+     * optionally filtered by type and role, into a batch.
+     *
+     * @param userType      The type to filter on, or null for any.
+     * @param role          The role to filter on, or null for any.
+     * @param fromSequence  The first sequence to consider.
+     * @param batch         The array to fill from index 0.
+     * @param maxCount      The maximum number of users to copy.
+     * @return The number of users copied; fewer than {@code maxCount} means the
+     *         scan reached the end of the store.
+     */
+    public int scan(UserType userType, Role role, int fromSequence, User[] batch, int maxCount) {
+        lock.readLock().lock();
+        try {
+            BitSet matches;
+            if (Objects.nonNull(userType) && Objects.nonNull(role)) {
+                matches = byUserTypeAndRole[pair(userType, role)];
+            } else if (Objects.nonNull(userType)) {
+                matches = byUserType.get(userType);
+            } else if (Objects.nonNull(role)) {
+                matches = byRole.get(role);
+            } else {
+                matches = live;
+            }
+
+            int count = 0;
+            for (int sequence = matches.nextSetBit(fromSequence); sequence >= 0 && count < maxCount;
+                    sequence = matches.nextSetBit(sequence + 1)) {
+                batch[count++] = read(sequence);
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of stored users.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private User append(User user) {
+        if (byId.get(user.getId()) != UuidIndex.ABSENT) {
+            throw new IllegalStateException("User with ID: " + user.getId() + " already exists");
+        }
+        if (nextSequence == Integer.MAX_VALUE) {
+            throw new IllegalStateException("User store is full");
+        }
+
+        User stored = user.toBuilder().sequence(nextSequence++).build();
+        int segment = stored.getSequence() >>> SEGMENT_SHIFT;
+        if (segment == segments.length) {
+            User[][] grown = new User[segments.length * 2][];
+            System.arraycopy(segments, 0, grown, 0, segments.length);
+            segments = grown;
+        }
+        if (Objects.isNull(segments[segment])) {
+            segments[segment] = new User[SEGMENT_SIZE];
+        }
+
+        byId.put(stored.getId(), stored.getSequence());
+        write(stored);
+        return stored;
+    }
+
+    private User read(int sequence) {
+        return segments[sequence >>> SEGMENT_SHIFT][sequence & (SEGMENT_SIZE - 1)];
+    }
+
+    private void write(User user) {
+        int sequence = user.getSequence();
+        segments[sequence >>> SEGMENT_SHIFT][sequence & (SEGMENT_SIZE - 1)] = user;
+        live.set(sequence);
+        if (Objects.nonNull(user.getUserType())) {
+            byUserType.get(user.getUserType()).set(sequence);
+        }
+        if (Objects.nonNull(user.getRole())) {
+            byRole.get(user.getRole()).set(sequence);
+        }
+        if (Objects.nonNull(user.getUserType()) && Objects.nonNull(user.getRole())) {
+            byUserTypeAndRole[pair(user.getUserType(), user.getRole())].set(sequence);
+        }
+    }
+
+    private void clear(User user) {
+        int sequence = user.getSequence();
+        live.clear(sequence);
+        if (Objects.nonNull(user.getUserType())) {
+            byUserType.get(user.getUserType()).clear(sequence);
+        }
+        if (Objects.nonNull(user.getRole())) {
+            byRole.get(user.getRole()).clear(sequence);
+        }
+        if (Objects.nonNull(user.getUserType()) && Objects.nonNull(user.getRole())) {
+            byUserTypeAndRole[pair(user.getUserType(), user.getRole())].clear(sequence);
+        }
+    }
+
+    private static int pair(UserType userType, Role role) {
+        return userType.ordinal() * ROLE_COUNT + role.ordinal();
+    }
+}
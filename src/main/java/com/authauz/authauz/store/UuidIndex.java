@@ -0,0 +1,187 @@
+package com.authauz.authauz.store;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from {@link UUID} to a non-negative {@code int},
+ * storing each key as its two {@code long} halves in parallel primitive
+ * arrays.
+ * <p>
+ * Compared with a {@code HashMap<UUID, Integer>}, an entry costs 20 bytes of
+ * array slots instead of a node, a boxed value and a retained key object, and
+ * a lookup touches three arrays instead of chasing pointers. Collisions are
+ * resolved by linear probing; removal shifts the following entries back, so
+ * there are no tombstones and lookups stay short under churn.
+ * <p>
+ * Not thread-safe; {@link UserStore} guards it with its lock.
+ */
+public final class UuidIndex {
+    public static final int ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    // Stored value + 1, so that 0 marks a free slot
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public UuidIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of entries to size the table for.
+     */
+    public UuidIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The value mapped to the key, or {@link #ABSENT}.
+     */
+    public int get(UUID key) {
+        int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        return slot < 0 ? ABSENT : values[slot] - 1;
+    }
+
+    /**
+     * @param key   The key to map.
+     * @param value The non-negative value to map it to.
+     * @return The previous value, or {@link #ABSENT}.
+     */
+    public int put(UUID key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must be non-negative");
+        }
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int slot = home(msb, lsb);
+        while (values[slot] != 0) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                int previous = values[slot] - 1;
+                values[slot] = value + 1;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        mostSignificant[slot] = msb;
+        leastSignificant[slot] = lsb;
+        values[slot] = value + 1;
+        if (++size > maxSize()) {
+            allocate(values.length * 2);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * @param key The key to unmap.
+     * @return The value the key was mapped to, or {@link #ABSENT}.
+     */
+    public int remove(UUID key) {
+        int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (slot < 0) {
+            return ABSENT;
+        }
+        int previous = values[slot] - 1;
+
+        // Backward-shift deletion: move up every following entry of the probe
+        // run whose home slot is not between the hole and itself
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == 0) {
+                break;
+            }
+            int home = home(mostSignificant[next], leastSignificant[next]);
+            boolean staysPut = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (staysPut) {
+                continue;
+            }
+            mostSignificant[hole] = mostSignificant[next];
+            leastSignificant[hole] = leastSignificant[next];
+            values[hole] = values[next];
+            hole = next;
+        }
+        values[hole] = 0;
+        size--;
+        return previous;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The bytes held by the table's arrays, excluding object headers.
+     */
+    public long footprintBytes() {
+        return values.length * (8L + 8 + 4);
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = home(msb, lsb);
+        while (values[slot] != 0) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int home(long msb, long lsb) {
+        // MurmurHash3 finalizer; random UUIDs are already uniform, time-ordered
+        // ones are not
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private int maxSize() {
+        // Load factor of 2/3 keeps linear probe runs short
+        return values.length / 3 * 2;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldMost = mostSignificant;
+        long[] oldLeast = leastSignificant;
+        int[] oldValues = values;
+
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        if (Objects.isNull(oldValues)) {
+            return;
+        }
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == 0) {
+                continue;
+            }
+            int slot = home(oldMost[i], oldLeast[i]);
+            while (values[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            mostSignificant[slot] = oldMost[i];
+            leastSignificant[slot] = oldLeast[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.min(1L << 30, Math.max(MIN_CAPACITY, (long) expectedSize * 3 / 2 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
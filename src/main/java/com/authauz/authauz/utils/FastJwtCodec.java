@@ -0,0 +1,487 @@
+package com.authauz.authauz.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * {@link JwtCodec} specialized for the single token shape this service issues:
+ * an HS256 JWS with the header {@code {"alg":"HS256"}} and the flat claim set
+ * described by {@link TokenClaims}.
+ * <p>
+ * Compared to the general jjwt path it:
+ * <ul>
+ * <li>reuses the pre-encoded header instead of serializing it per token</li>
+ * <li>keeps one initialized {@link Mac} per thread</li>
+ * <li>base64url-decodes directly over the token bytes</li>
+ * <li>parses only the claims it knows into {@link TokenClaims}, without
+ * reflection or map binding</li>
+ * </ul>
+ * Tokens or keys that do not match the expected shape (another algorithm,
+ * another header, nested or unknown structured claims) are handed to the
+ * fallback codec, so behaviour for them is unchanged.
+ */
+public class FastJwtCodec implements JwtCodec {
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final long CLOCK_SKEW_SECONDS = 10;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = ENCODER
+            .encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte DOT = '.';
+
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final JwtCodec fallback;
+    private final ThreadLocal<KeyedMac> macs = new ThreadLocal<>();
+
+    public FastJwtCodec(JwtCodec fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String sign(TokenClaims claims, SecretKey secretKey) {
+        if (!supports(secretKey)) {
+            return fallback.sign(claims, secretKey);
+        }
+
+        String payload = ENCODER.encodeToString(encodePayload(claims));
+
+        Mac mac = mac(secretKey);
+        mac.update(HEADER_BYTES);
+        mac.update(DOT);
+        mac.update(payload.getBytes(StandardCharsets.US_ASCII));
+
+        return HEADER + '.' + payload + '.' + ENCODER.encodeToString(mac.doFinal());
+    }
+
+    @Override
+    public TokenClaims verify(String jwt, SecretKey secretKey) {
+        Objects.requireNonNull(secretKey, "Secret key must not be null");
+
+        if (Objects.isNull(jwt)) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.MISSING);
+        }
+
+        TokenClaims claims = supports(secretKey) ? verifyExpectedShape(jwt, secretKey) : null;
+        return Objects.nonNull(claims) ? claims : fallback.verify(jwt, secretKey);
+    }
+
+    /**
+     * Verifies a token of the expected shape.
+     *
+     * @return the claims, or null if the token does not have the expected shape
+     * @throws IllegalArgumentException if the signature does not match or the
+     *                                  token is outside its validity period
+     */
+    private TokenClaims verifyExpectedShape(String jwt, SecretKey secretKey) {
+        int firstDot = jwt.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : jwt.indexOf('.', firstDot + 1);
+        if (firstDot != HEADER.length() || secondDot < 0 || jwt.indexOf('.', secondDot + 1) >= 0
+                || !jwt.startsWith(HEADER)) {
+            return null;
+        }
+
+        byte[] token = jwt.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] signature = decodeBase64Url(token, secondDot + 1, token.length);
+        if (Objects.isNull(signature) || signature.length != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        Mac mac = mac(secretKey);
+        mac.update(token, 0, secondDot);
+        if (!MessageDigest.isEqual(mac.doFinal(), signature)) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.INVALID);
+        }
+
+        byte[] payload = decodeBase64Url(token, firstDot + 1, secondDot);
+        TokenClaims claims = Objects.isNull(payload) ? null : new ClaimsParser(payload).parse();
+        if (Objects.isNull(claims)) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis() / 1000L;
+        if (Objects.nonNull(claims.getExpiration()) && now - CLOCK_SKEW_SECONDS >= claims.getExpiration()) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.EXPIRED);
+        }
+        if (Objects.nonNull(claims.getNotBefore()) && now + CLOCK_SKEW_SECONDS < claims.getNotBefore()) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.NOT_YET_VALID);
+        }
+        return claims;
+    }
+
+    /**
+     * Only HS256 keys are handled here; jjwt picks a stronger algorithm for
+     * longer keys, and those tokens go through the fallback.
+     */
+    private boolean supports(SecretKey secretKey) {
+        return MAC_ALGORITHM.equals(secretKey.getAlgorithm());
+    }
+
+    /**
+     * Returns this thread's {@link Mac}, re-initializing it only when the key
+     * changes.
+     */
+    private Mac mac(SecretKey secretKey) {
+        KeyedMac keyedMac = macs.get();
+        if (Objects.isNull(keyedMac) || !keyedMac.matches(secretKey)) {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(secretKey);
+                keyedMac = new KeyedMac(secretKey, mac);
+                macs.set(keyedMac);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + MAC_ALGORITHM, e);
+            }
+        }
+        return keyedMac.mac;
+    }
+
+    private static byte[] encodePayload(TokenClaims claims) {
+        JsonWriter json = new JsonWriter();
+        json.string("sub", claims.getSubject());
+        json.string("jti", claims.getId());
+        json.string(TokenClaims.USER_TYPE, claims.getUserType());
+        json.string(TokenClaims.ROLE, claims.getRole());
+        json.string(TokenClaims.SCOPE, claims.getScope());
+        json.number(TokenClaims.PERMISSION_VERSION, claims.getPermissionVersion());
+        json.stringArray("aud", claims.getAudience());
+        json.number("iat", claims.getIssuedAt());
+        json.number("nbf", claims.getNotBefore());
+        json.number("exp", claims.getExpiration());
+        return json.finish();
+    }
+
+    /**
+     * Decodes unpadded base64url in {@code [from, to)} of {@code source}.
+     *
+     * @return the decoded bytes, or null if the input is not valid base64url
+     */
+    static byte[] decodeBase64Url(byte[] source, int from, int to) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return null;
+        }
+
+        byte[] decoded = new byte[length * 3 / 4];
+        int bits = 0;
+        int bitCount = 0;
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            int b = source[i];
+            int value = b >= 0 && b < BASE64_URL_VALUES.length ? BASE64_URL_VALUES[b] : -1;
+            if (value < 0) {
+                return null;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                decoded[position++] = (byte) (bits >> bitCount);
+            }
+        }
+        return decoded;
+    }
+
+    private static final class KeyedMac {
+        private final SecretKey key;
+        private final Mac mac;
+
+        private KeyedMac(SecretKey key, Mac mac) {
+            this.key = key;
+            this.mac = mac;
+        }
+
+        private boolean matches(SecretKey other) {
+            return key == other || key.equals(other);
+        }
+    }
+
+    /**
+     * Minimal writer for the flat JSON object of the token payload.
+     */
+    private static final class JsonWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        private boolean first = true;
+
+        JsonWriter() {
+            out.write('{');
+        }
+
+        void string(String name, String value) {
+            if (Objects.nonNull(value)) {
+                name(name);
+                quoted(value);
+            }
+        }
+
+        void stringArray(String name, String value) {
+            if (Objects.nonNull(value)) {
+                name(name);
+                out.write('[');
+                quoted(value);
+                out.write(']');
+            }
+        }
+
+        void number(String name, Long value) {
+            if (Objects.nonNull(value)) {
+                name(name);
+                out.writeBytes(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        byte[] finish() {
+            out.write('}');
+            return out.toByteArray();
+        }
+
+        private void name(String name) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            quoted(name);
+            out.write(':');
+        }
+
+        private void quoted(String value) {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    out.writeBytes(String.format("\\u%04x", (int) c).getBytes(StandardCharsets.US_ASCII));
+                } else if (c < 0x80) {
+                    out.write(c);
+                } else {
+                    // Encode non-ASCII characters together with any surrogate pair
+                    int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+                    out.writeBytes(value.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                    i = end - 1;
+                }
+            }
+            out.write('"');
+        }
+    }
+
+    /**
+     * Single-pass parser for the flat JSON payload. Returns null from
+     * {@link #parse()} whenever the payload holds anything other than the
+     * expected claims and simple scalar values.
+     */
+    private static final class ClaimsParser {
+        private final byte[] json;
+        private int position;
+        private boolean failed;
+
+        ClaimsParser(byte[] json) {
+            this.json = json;
+        }
+
+        TokenClaims parse() {
+            TokenClaims.TokenClaimsBuilder claims = TokenClaims.builder();
+
+            if (!consume('{')) {
+                return null;
+            }
+            if (consume('}')) {
+                return end() ? claims.build() : null;
+            }
+
+            do {
+                String name = string();
+                if (Objects.isNull(name) || !consume(':') || !member(name, claims)) {
+                    return null;
+                }
+            } while (consume(','));
+
+            return consume('}') && end() ? claims.build() : null;
+        }
+
+        private boolean member(String name, TokenClaims.TokenClaimsBuilder claims) {
+            switch (name) {
+                case "sub" -> claims.subject(string());
+                case "jti" -> claims.id(string());
+                case TokenClaims.USER_TYPE -> claims.userType(string());
+                case TokenClaims.ROLE -> claims.role(string());
+                case TokenClaims.SCOPE -> claims.scope(string());
+                case TokenClaims.PERMISSION_VERSION -> claims.permissionVersion(number());
+                case "aud" -> claims.audience(audience());
+                case "iat" -> claims.issuedAt(number());
+                case "nbf" -> claims.notBefore(number());
+                case "exp" -> claims.expiration(number());
+                default -> {
+                    return skipScalar();
+                }
+            }
+            // Each known claim must have been read with its expected type
+            return !failed;
+        }
+
+        private String audience() {
+            skipWhitespace();
+            if (!consume('[')) {
+                return string();
+            }
+            String audience = string();
+            if (!consume(']')) {
+                failed = true;
+            }
+            return audience;
+        }
+
+        private String string() {
+            skipWhitespace();
+            if (position >= json.length || json[position] != '"') {
+                failed = true;
+                return null;
+            }
+            int start = ++position;
+            boolean escaped = false;
+            while (position < json.length && json[position] != '"') {
+                if (json[position] == '\\') {
+                    escaped = true;
+                    position++;
+                }
+                position++;
+            }
+            if (position >= json.length) {
+                failed = true;
+                return null;
+            }
+            int end = position++;
+            return escaped ? unescape(start, end) : new String(json, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        private String unescape(int start, int end) {
+            StringBuilder value = new StringBuilder(end - start);
+            int segment = start;
+            for (int i = start; i < end; i++) {
+                if (json[i] != '\\') {
+                    continue;
+                }
+                value.append(new String(json, segment, i - segment, StandardCharsets.UTF_8));
+                byte escape = json[++i];
+                switch (escape) {
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (i + 4 >= end) {
+                            failed = true;
+                            return null;
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(
+                                    new String(json, i + 1, 4, StandardCharsets.US_ASCII), 16));
+                        } catch (NumberFormatException e) {
+                            failed = true;
+                            return null;
+                        }
+                        i += 4;
+                    }
+                    default -> value.append((char) escape);
+                }
+                segment = i + 1;
+            }
+            return value.append(new String(json, segment, end - segment, StandardCharsets.UTF_8)).toString();
+        }
+
+        private Long number() {
+            skipWhitespace();
+            boolean negative = position < json.length && json[position] == '-';
+            if (negative) {
+                position++;
+            }
+            int digits = position;
+            long value = 0;
+            while (position < json.length && json[position] >= '0' && json[position] <= '9') {
+                value = value * 10 + (json[position++] - '0');
+            }
+            // Fractions, exponents and oversized values are left to the general parser
+            if (position == digits || position - digits > 18 || (position < json.length
+                    && (json[position] == '.' || json[position] == 'e' || json[position] == 'E'))) {
+                failed = true;
+                return null;
+            }
+            return negative ? -value : value;
+        }
+
+        private boolean skipScalar() {
+            skipWhitespace();
+            if (position >= json.length) {
+                return false;
+            }
+            byte b = json[position];
+            if (b == '"') {
+                string();
+                return !failed;
+            }
+            if (b == '-' || (b >= '0' && b <= '9')) {
+                while (position < json.length && "+-.eE0123456789".indexOf(json[position]) >= 0) {
+                    position++;
+                }
+                return true;
+            }
+            return literal("true") || literal("false") || literal("null");
+        }
+
+        private boolean literal(String literal) {
+            int length = literal.length();
+            if (position + length > json.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (json[position + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            position += length;
+            return true;
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < json.length && json[position] == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean end() {
+            skipWhitespace();
+            return position == json.length;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length
+                    && (json[position] == ' ' || json[position] == '\t' || json[position] == '\n'
+                            || json[position] == '\r')) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.authauz.authauz.utils;
+
+import lombok.Getter;
+
+/**
+ * Thrown by the {@link JwtCodec}s when a token is rejected, carrying the
+ * {@link Reason} so that callers such as {@link TokenGate} can tell rejections
+ * apart without matching on messages.
+ * <p>
+ * Extends {@link IllegalArgumentException}, which the codecs declared before
+ * the reason was introduced, so existing callers are unaffected.
+ * <p>
+ * Rejections made by the {@link TokenGate} before any codec saw the token are
+ * marked as gated.
+ */
+@Getter
+public class InvalidTokenException extends IllegalArgumentException {
+    private final Reason reason;
+    private final boolean gated;
+
+    public InvalidTokenException(Reason reason) {
+        this(reason, null, false);
+    }
+
+    public InvalidTokenException(Reason reason, Throwable cause) {
+        this(reason, cause, false);
+    }
+
+    private InvalidTokenException(Reason reason, Throwable cause, boolean gated) {
+        super(reason.message, cause);
+        this.reason = reason;
+        this.gated = gated;
+    }
+
+    /**
+     * @return A rejection made by the {@link TokenGate} without consulting its
+     *         delegate.
+     */
+    static InvalidTokenException gated(Reason reason) {
+        return new InvalidTokenException(reason, null, true);
+    }
+
+    /**
+     * Why a token was rejected.
+     */
+    public enum Reason {
+        MISSING("Authentication token is missing.", false),
+        MALFORMED("Authentication token is malformed.", false),
+        INVALID("Authentication token is invalid.", true),
+        EXPIRED("Authentication token has expired.", true),
+        NOT_YET_VALID("Authentication token is not yet valid.", false);
+
+        private final String message;
+        private final boolean permanent;
+
+        Reason(String message, boolean permanent) {
+            this.message = message;
+            this.permanent = permanent;
+        }
+
+        /**
+         * @return true if the same token will always be rejected for this
+         *         reason, so the rejection can be cached
+         */
+        public boolean isPermanent() {
+            return permanent;
+        }
+    }
+}
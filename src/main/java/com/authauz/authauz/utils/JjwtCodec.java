@@ -0,0 +1,95 @@
+package com.authauz.authauz.utils;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * {@link JwtCodec} backed by the general purpose jjwt builder and parser. It
+ * accepts any token shape jjwt supports and is the fallback of
+ * {@link FastJwtCodec}.
+ */
+public class JjwtCodec implements JwtCodec {
+
+    @Override
+    public String sign(TokenClaims claims, SecretKey secretKey) {
+        JwtBuilder builder = Jwts.builder()
+                .subject(claims.getSubject())
+                .id(claims.getId());
+
+        if (Objects.nonNull(claims.getUserType())) {
+            builder.claim(TokenClaims.USER_TYPE, claims.getUserType());
+        }
+        if (Objects.nonNull(claims.getRole())) {
+            builder.claim(TokenClaims.ROLE, claims.getRole());
+        }
+        if (Objects.nonNull(claims.getScope())) {
+            builder.claim(TokenClaims.SCOPE, claims.getScope());
+        }
+        if (Objects.nonNull(claims.getPermissionVersion())) {
+            builder.claim(TokenClaims.PERMISSION_VERSION, claims.getPermissionVersion());
+        }
+
+        return builder
+                .audience()
+                .add(claims.getAudience())
+                .and()
+                .issuedAt(toDate(claims.getIssuedAt()))
+                .notBefore(toDate(claims.getNotBefore()))
+                .expiration(toDate(claims.getExpiration()))
+                .signWith(secretKey)
+                .compact();
+    }
+
+    @Override
+    public TokenClaims verify(String jwt, SecretKey secretKey) {
+        Objects.requireNonNull(secretKey, "Secret key must not be null");
+
+        if (Objects.isNull(jwt)) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.MISSING);
+        }
+
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .clockSkewSeconds(10)
+                    .build()
+                    .parseSignedClaims(jwt)
+                    .getPayload();
+
+            Set<String> audience = claims.getAudience();
+            return TokenClaims.builder()
+                    .subject(claims.getSubject())
+                    .id(claims.getId())
+                    .audience(Objects.isNull(audience) ? null : audience.stream().findFirst().orElse(null))
+                    .issuedAt(toEpochSeconds(claims.getIssuedAt()))
+                    .notBefore(toEpochSeconds(claims.getNotBefore()))
+                    .expiration(toEpochSeconds(claims.getExpiration()))
+                    .userType(claims.get(TokenClaims.USER_TYPE, String.class))
+                    .role(claims.get(TokenClaims.ROLE, String.class))
+                    .scope(claims.get(TokenClaims.SCOPE, String.class))
+                    .permissionVersion(claims.get(TokenClaims.PERMISSION_VERSION, Long.class))
+                    .build();
+        } catch (SignatureException e) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.INVALID, e);
+        } catch (ExpiredJwtException e) {
+            throw new InvalidTokenException(InvalidTokenException.Reason.EXPIRED, e);
+        }
+    }
+
+    private static Date toDate(Long epochSeconds) {
+        return Objects.isNull(epochSeconds) ? null : new Date(epochSeconds * 1000L);
+    }
+
+    private static Long toEpochSeconds(Date date) {
+        return Objects.isNull(date) ? null : date.getTime() / 1000L;
+    }
+}
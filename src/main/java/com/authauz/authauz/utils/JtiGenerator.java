@@ -0,0 +1,16 @@
+package com.authauz.authauz.utils;
+
+/**
+ * Generates the unique identifier ({@code jti} claim) of every issued JWT.
+ * <p>
+ * Implementations must be thread-safe and must produce identifiers that are
+ * unpredictable, since the {@code jti} is used to track and revoke tokens.
+ */
+@FunctionalInterface
+public interface JtiGenerator {
+
+    /**
+     * @return a new, unique token identifier
+     */
+    String nextId();
+}
@@ -0,0 +1,17 @@
+package com.authauz.authauz.utils;
+
+/**
+ * Selects the {@link JtiGenerator} used when issuing tokens.
+ */
+public enum JtiStrategy {
+    /**
+     * Random (version 4) UUIDs from {@link java.util.UUID#randomUUID()}, which
+     * share a single {@link java.security.SecureRandom}.
+     */
+    RANDOM,
+
+    /**
+     * Time-ordered (version 7) UUIDs built from per-thread random buffers.
+     */
+    TIME_ORDERED
+}
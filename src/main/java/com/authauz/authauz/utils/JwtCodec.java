@@ -0,0 +1,38 @@
+package com.authauz.authauz.utils;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Signs and verifies the tokens issued by this service.
+ *
+ * @see JjwtCodec
+ * @see FastJwtCodec
+ */
+public interface JwtCodec {
+
+    /**
+     * Encodes and signs the claims as a compact JWS.
+     *
+     * @param claims    The claims to encode.
+     * @param secretKey The {@link SecretKey} used to sign the token.
+     * @return The compact token.
+     */
+    String sign(TokenClaims claims, SecretKey secretKey);
+
+    /**
+     * Verifies the token signature and validity period and returns its claims.
+     *
+     * @param jwt       The compact token.
+     * @param secretKey The {@link SecretKey} used for signature verification.
+     * @return The verified claims.
+     * @throws IllegalArgumentException If the token is invalid or expired.
+     */
+    TokenClaims verify(String jwt, SecretKey secretKey);
+
+    /**
+     * @return The name this codec is reported under, e.g. in JFR events.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,16 @@
+package com.authauz.authauz.utils;
+
+/**
+ * Selects the {@link JwtCodec} used to sign and verify tokens.
+ */
+public enum JwtCodecType {
+    /**
+     * The general purpose jjwt builder and parser.
+     */
+    JJWT,
+
+    /**
+     * The specialized HS256 codec, falling back to jjwt for other token shapes.
+     */
+    FAST
+}
@@ -4,22 +4,31 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.stereotype.Component;
 
+import com.authauz.authauz.jfr.SignatureVerificationEvent;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtils {
+    private static final Set<String> TOKEN_CLAIM_NAMES = Set.of(TokenClaims.USER_TYPE, TokenClaims.ROLE,
+            TokenClaims.SCOPE);
+
+    private final JtiGenerator jtiGenerator;
+    private final JwtCodec jwtCodec;
 
     /**
      * Retrieves the payload (claims) from a JWT token.
@@ -35,7 +44,7 @@ public class JwtUtils {
 
         try {
             if (Objects.isNull(jwt)) {
-                throw new IllegalArgumentException("Authentication token is missing.");
+                throw new InvalidTokenException(InvalidTokenException.Reason.MISSING);
             }
 
             return Jwts.parser()
@@ -45,9 +54,47 @@ public class JwtUtils {
                     .parseSignedClaims(jwt)
                     .getPayload();
         } catch (SignatureException e) {
-            throw new IllegalArgumentException("Authentication token is invalid.", e);
+            throw new InvalidTokenException(InvalidTokenException.Reason.INVALID, e);
         } catch (ExpiredJwtException e) {
-            throw new IllegalArgumentException("Authentication token has expired.", e);
+            throw new InvalidTokenException(InvalidTokenException.Reason.EXPIRED, e);
+        }
+    }
+
+    /**
+     * Verifies a JWT token through the configured {@link JwtCodec} and returns
+     * the claims used by the application.
+     *
+     * @param jwt       The JWT token to verify.
+     * @param secretKey The {@link SecretKey} used for signature verification.
+     * @return The verified {@link TokenClaims}.
+     * @throws IllegalArgumentException If the token is missing, invalid, or
+     *                                  expired.
+     */
+    public TokenClaims getTokenClaims(String jwt, SecretKey secretKey) {
+        SignatureVerificationEvent event = new SignatureVerificationEvent();
+        event.begin();
+        try {
+            TokenClaims claims = jwtCodec.verify(jwt, secretKey);
+            event.end();
+            if (event.shouldCommit()) {
+                event.codec = jwtCodec.name();
+                event.outcome = SignatureVerificationEvent.VALID;
+                event.tokenAge = Objects.isNull(claims.getIssuedAt()) ? 0
+                        : System.currentTimeMillis() / 1000L - claims.getIssuedAt();
+                event.commit();
+            }
+            return claims;
+        } catch (RuntimeException e) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.codec = jwtCodec.name();
+                event.outcome = e instanceof InvalidTokenException invalid && invalid.isGated()
+                        ? SignatureVerificationEvent.GATED
+                        : SignatureVerificationEvent.INVALID;
+                event.reason = e.getMessage();
+                event.commit();
+            }
+            throw e;
         }
     }
 
@@ -65,20 +112,7 @@ public class JwtUtils {
     public String generateToken(String subject, String audience, int expiresIn, SecretKey secretKey) {
         validateInputs(subject, audience, secretKey);
 
-        Date issuedAt = new Date();
-        Date expiration = new Date(issuedAt.getTime() + expiresIn * 1000L);
-
-        return Jwts.builder()
-                .subject(subject)
-                .id(UUID.randomUUID().toString())
-                .audience()
-                .add(audience)
-                .and()
-                .issuedAt(issuedAt)
-                .notBefore(issuedAt)
-                .expiration(expiration)
-                .signWith(secretKey)
-                .compact();
+        return jwtCodec.sign(prepareClaims(subject, audience, Map.of(), expiresIn), secretKey);
     }
 
     /**
@@ -103,9 +137,14 @@ public class JwtUtils {
         log.debug("Generating JWT token for subject: {}, audience: {}, issuedAt: {}, expiresIn: {} seconds",
                 subject, audience, issuedAt, expiresIn);
 
+        // Tokens carrying only the claims modelled by TokenClaims go through the codec
+        if (isTokenClaimsShape(claims)) {
+            return jwtCodec.sign(prepareClaims(subject, audience, claims, expiresIn), secretKey);
+        }
+
         return Jwts.builder()
                 .subject(subject)
-                .id(UUID.randomUUID().toString())
+                .id(jtiGenerator.nextId())
                 .claims(claims)
                 .audience()
                 .add(audience)
@@ -131,6 +170,40 @@ public class JwtUtils {
         return Keys.hmacShaKeyFor(signingKey.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * @return True if the claims are all modelled by {@link TokenClaims}: string
+     *         claims plus a {@code Long} permission version.
+     */
+    private static boolean isTokenClaimsShape(Map<String, ?> claims) {
+        for (Map.Entry<String, ?> claim : claims.entrySet()) {
+            boolean modelled = TokenClaims.PERMISSION_VERSION.equals(claim.getKey()) ? claim.getValue() instanceof Long
+                    : TOKEN_CLAIM_NAMES.contains(claim.getKey()) && claim.getValue() instanceof String;
+            if (!modelled) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the flat claim set of a token issued now.
+     */
+    private TokenClaims prepareClaims(String subject, String audience, Map<String, ?> claims, int expiresIn) {
+        long issuedAt = System.currentTimeMillis() / 1000L;
+        return TokenClaims.builder()
+                .subject(subject)
+                .id(jtiGenerator.nextId())
+                .audience(audience)
+                .issuedAt(issuedAt)
+                .notBefore(issuedAt)
+                .expiration(issuedAt + expiresIn)
+                .userType((String) claims.get(TokenClaims.USER_TYPE))
+                .role((String) claims.get(TokenClaims.ROLE))
+                .scope((String) claims.get(TokenClaims.SCOPE))
+                .permissionVersion((Long) claims.get(TokenClaims.PERMISSION_VERSION))
+                .build();
+    }
+
     /**
      * Validates common inputs for token generation.
      *
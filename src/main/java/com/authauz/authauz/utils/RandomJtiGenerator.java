@@ -0,0 +1,14 @@
+package com.authauz.authauz.utils;
+
+import java.util.UUID;
+
+/**
+ * {@link JtiGenerator} backed by {@link UUID#randomUUID()}.
+ */
+public class RandomJtiGenerator implements JtiGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.authauz.authauz.utils;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Flat view of the claims carried by the tokens this service issues. Only the
+ * claims the application reads are represented; timestamps are in seconds
+ * since the epoch and are null when the claim is absent.
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class TokenClaims {
+    public static final String USER_TYPE = "userType";
+    public static final String ROLE = "role";
+    public static final String SCOPE = "scope";
+    public static final String PERMISSION_VERSION = "pv";
+
+    private final String subject;
+    private final String id;
+    private final String audience;
+    private final Long issuedAt;
+    private final Long notBefore;
+    private final Long expiration;
+    private final String userType;
+    private final String role;
+    // Space-delimited scopes granted to a service client
+    private final String scope;
+    // Permission version of the user when the token was minted
+    private final Long permissionVersion;
+}
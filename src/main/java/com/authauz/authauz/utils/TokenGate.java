@@ -0,0 +1,310 @@
+package com.authauz.authauz.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.crypto.SecretKey;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties.GateConfiguration;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.PrematureJwtException;
+
+/**
+ * {@link JwtCodec} decorator that rejects junk and replayed bad tokens before
+ * they reach signature verification.
+ * <p>
+ * In order, a token must:
+ * <ol>
+ * <li>be within the configured length bounds and consist of three non-empty
+ * base64url segments;</li>
+ * <li>declare an HMAC {@code alg} the verification key is long enough for
+ * (the header of the tokens we issue is recognized without decoding);</li>
+ * <li>not be in the negative cache, a direct-mapped table of SHA-256 digests
+ * of recently rejected tokens;</li>
+ * <li>optionally, not carry a top-level {@code exp} that is already past,
+ * read from the payload without parsing it into claims.</li>
+ * </ol>
+ * Only then is it passed to the delegate. Tokens the delegate rejects as
+ * invalid, expired or malformed are added to the negative cache, so a
+ * replayed forged cookie costs one hash and one array read instead of a parse
+ * and an HMAC. Rejections that may change over time (not yet valid) are not
+ * cached; the delegate's {@link InvalidTokenException.Reason} tells them
+ * apart. Every check fails open towards the delegate when the token is not
+ * in a form it understands, so the gate never accepts anything the delegate
+ * would reject, nor rejects a token the delegate would accept.
+ * <p>
+ * The gate reports itself under the delegate's {@link #name()}, and its own
+ * rejections are marked {@link InvalidTokenException#isGated() gated}.
+ */
+public class TokenGate implements JwtCodec {
+    private static final long CLOCK_SKEW_SECONDS = 10;
+    private static final String ISSUED_HEADER = Base64Url.encode("{\"alg\":\"HS256\"}");
+    private static final byte[] ALG = "alg".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP = "exp".getBytes(StandardCharsets.US_ASCII);
+
+    private final JwtCodec delegate;
+    private final GateConfiguration config;
+    private final AtomicReferenceArray<byte[]> rejected;
+    private final int mask;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(TokenGate::sha256);
+
+    public TokenGate(JwtCodec delegate, GateConfiguration config) {
+        this.delegate = delegate;
+        this.config = config;
+        int size = config.getNegativeCacheSize() <= 0 ? 0
+                : Integer.highestOneBit(Math.max(1, config.getNegativeCacheSize() - 1)) << 1;
+        this.rejected = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public String sign(TokenClaims claims, SecretKey secretKey) {
+        return delegate.sign(claims, secretKey);
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public TokenClaims verify(String jwt, SecretKey secretKey) {
+        if (Objects.isNull(jwt) || Objects.isNull(secretKey)) {
+            return delegate.verify(jwt, secretKey);
+        }
+
+        int firstDot = jwt.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : jwt.indexOf('.', firstDot + 1);
+        if (!hasValidStructure(jwt, firstDot, secondDot)) {
+            throw InvalidTokenException.gated(InvalidTokenException.Reason.MALFORMED);
+        }
+        // The structure check admits ASCII only, so one encoding serves every later step
+        byte[] token = jwt.getBytes(StandardCharsets.US_ASCII);
+        if (!hasExpectedAlgorithm(jwt, token, firstDot, secretKey)) {
+            throw InvalidTokenException.gated(InvalidTokenException.Reason.INVALID);
+        }
+
+        byte[] digest = rejected.length() == 0 ? null : digests.get().digest(token);
+        if (Objects.nonNull(digest) && Arrays.equals(rejected.get(slot(digest)), digest)) {
+            throw InvalidTokenException.gated(InvalidTokenException.Reason.INVALID);
+        }
+
+        if (config.isExpPeek() && isExpired(token, firstDot, secondDot)) {
+            remember(digest);
+            throw InvalidTokenException.gated(InvalidTokenException.Reason.EXPIRED);
+        }
+
+        try {
+            return delegate.verify(jwt, secretKey);
+        } catch (InvalidTokenException e) {
+            if (e.getReason().isPermanent()) {
+                remember(digest);
+            }
+            throw e;
+        } catch (JwtException e) {
+            if (!(e instanceof PrematureJwtException)) {
+                remember(digest);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the length bounds, that there are exactly three non-empty
+     * segments, and that every other character is in the base64url alphabet.
+     */
+    private boolean hasValidStructure(String jwt, int firstDot, int secondDot) {
+        int length = jwt.length();
+        if (length < config.getMinLength() || length > config.getMaxLength()
+                || firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == length - 1) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = jwt.charAt(i);
+            if (c >= 128 || (!Base64Url.isAlphabet(c) && !(c == '.' && (i == firstDot || i == secondDot)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accepts the header of the tokens we issue as-is; other headers are
+     * decoded and their {@code alg} must be an HMAC algorithm whose minimum key
+     * length the verification key meets.
+     */
+    private boolean hasExpectedAlgorithm(String jwt, byte[] token, int firstDot, SecretKey secretKey) {
+        if (firstDot == ISSUED_HEADER.length() && jwt.startsWith(ISSUED_HEADER)) {
+            return true;
+        }
+
+        byte[] header = FastJwtCodec.decodeBase64Url(token, 0, firstDot);
+        String alg = Objects.isNull(header) ? null : TopLevelJson.stringValue(header, ALG);
+        if (Objects.isNull(alg)) {
+            // Not something we can read cheaply; let the delegate decide
+            return true;
+        }
+
+        int keyLength = Objects.isNull(secretKey.getEncoded()) ? Integer.MAX_VALUE : secretKey.getEncoded().length;
+        return switch (alg) {
+            case "HS256" -> keyLength >= 32;
+            case "HS384" -> keyLength >= 48;
+            case "HS512" -> keyLength >= 64;
+            default -> false;
+        };
+    }
+
+    private boolean isExpired(byte[] token, int firstDot, int secondDot) {
+        byte[] payload = FastJwtCodec.decodeBase64Url(token, firstDot + 1, secondDot);
+        if (Objects.isNull(payload)) {
+            return false;
+        }
+        long expiration = TopLevelJson.longValue(payload, EXP);
+        // Strictly past the skew, so second rounding never rejects what the delegate accepts
+        return expiration != Long.MIN_VALUE && System.currentTimeMillis() / 1000L - CLOCK_SKEW_SECONDS > expiration;
+    }
+
+    private void remember(byte[] digest) {
+        if (Objects.nonNull(digest)) {
+            rejected.set(slot(digest), digest);
+        }
+    }
+
+    private int slot(byte[] digest) {
+        return ((digest[0] & 0xff) | (digest[1] & 0xff) << 8 | (digest[2] & 0xff) << 16 | (digest[3] & 0xff) << 24)
+                & mask;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Base64url helpers over the token string; decoding is shared with
+     * {@link FastJwtCodec}.
+     */
+    private static final class Base64Url {
+
+        static String encode(String value) {
+            return java.util.Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static boolean isAlphabet(char c) {
+            return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-'
+                    || c == '_';
+        }
+    }
+
+    /**
+     * Reads a single top-level member of a JSON object without building a
+     * tree. String contents and nested values are skipped, so keys inside them
+     * are never mistaken for the member. Returns a sentinel when the member is
+     * absent or not of the expected simple form; the caller then defers to
+     * the full parser.
+     */
+    private static final class TopLevelJson {
+
+        static String stringValue(byte[] json, byte[] key) {
+            int at = valueIndex(json, key);
+            if (at < 0 || json[at] != '"') {
+                return null;
+            }
+            int end = at + 1;
+            while (end < json.length && json[end] != '"' && json[end] != '\\') {
+                end++;
+            }
+            return end < json.length && json[end] == '"'
+                    ? new String(json, at + 1, end - at - 1, StandardCharsets.UTF_8)
+                    : null;
+        }
+
+        static long longValue(byte[] json, byte[] key) {
+            int at = valueIndex(json, key);
+            if (at < 0) {
+                return Long.MIN_VALUE;
+            }
+            long value = 0;
+            int end = at;
+            while (end < json.length && json[end] >= '0' && json[end] <= '9' && end - at < 18) {
+                value = value * 10 + (json[end] - '0');
+                end++;
+            }
+            boolean terminated = end < json.length && (json[end] == ',' || json[end] == '}' || isSpace(json[end]));
+            return end > at && terminated ? value : Long.MIN_VALUE;
+        }
+
+        /**
+         * @return the index of the first byte of the value of the last
+         *         top-level occurrence of {@code key}, or -1
+         */
+        private static int valueIndex(byte[] json, byte[] key) {
+            int depth = 0;
+            int found = -1;
+            boolean expectKey = false;
+            for (int i = 0; i < json.length; i++) {
+                byte b = json[i];
+                if (b == '"') {
+                    int end = skipString(json, i);
+                    if (end < 0) {
+                        return -1;
+                    }
+                    if (depth == 1 && expectKey) {
+                        int colon = skipSpace(json, end + 1);
+                        if (colon < json.length && json[colon] == ':' && end - i - 1 == key.length
+                                && Arrays.equals(json, i + 1, end, key, 0, key.length)) {
+                            int value = skipSpace(json, colon + 1);
+                            found = value < json.length ? value : -1;
+                        }
+                        expectKey = false;
+                    }
+                    i = end;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                    expectKey = b == '{' && depth == 1;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                } else if (b == ',' && depth == 1) {
+                    expectKey = true;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * @return the index of the closing quote of the string starting at
+         *         {@code start}, or -1 if it is not terminated
+         */
+        private static int skipString(byte[] json, int start) {
+            for (int i = start + 1; i < json.length; i++) {
+                if (json[i] == '\\') {
+                    i++;
+                } else if (json[i] == '"') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static int skipSpace(byte[] json, int from) {
+            int i = from;
+            while (i < json.length && isSpace(json[i])) {
+                i++;
+            }
+            return i;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+        }
+    }
+}
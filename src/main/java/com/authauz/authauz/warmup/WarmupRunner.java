@@ -0,0 +1,174 @@
+package com.authauz.authauz.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.WarmupConfiguration;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
+import com.authauz.authauz.utils.JwtUtils;
+import com.authauz.authauz.utils.TokenClaims;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms up the authentication and authorization hot paths before the instance
+ * reports ready, so it joins the load balancer with the jjwt parser, HMAC,
+ * Jackson, the security filter chain and the authorization aspect already
+ * JIT-compiled.
+ * <p>
+ * Application runners run after the web server has started but before Spring
+ * Boot publishes {@link ReadinessState#ACCEPTING_TRAFFIC}. The runner
+ * nevertheless publishes {@link ReadinessState#REFUSING_TRAFFIC} first, so the
+ * readiness probe reports out of service for the whole warm-up regardless of
+ * earlier state changes, and {@code ACCEPTING_TRAFFIC} once it is done.
+ * <p>
+ * Each iteration signs and verifies a token for a synthetic principal, then,
+ * when a web server is running, sends authorized requests for
+ * {@code GET /users} and {@code GET /users/{id}} over loopback, the latter for
+ * a warm-up user written straight to the {@link UserStore} and removed once
+ * the run ends, plus a forged token every tenth iteration to exercise the
+ * rejection path. The run stops after the configured number of iterations or
+ * when the time budget is spent, whichever comes first. An interrupt ends it
+ * early without failing startup.
+ * <p>
+ * Warm-up is off by default. Its requests go through the real pipeline, so
+ * when enabled they are recorded like any other traffic: in the audit log,
+ * the quota buckets, the traffic sketches and the idle session tracker.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+    private final ApplicationContext applicationContext;
+    private final AppConfigurationProperties properties;
+    private final JwtUtils jwtUtils;
+    private final UserStore userStore;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        WarmupConfiguration config = properties.getWarmup();
+        if (!config.isEnabled() || config.getIterations() <= 0) {
+            return;
+        }
+
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        try {
+            Result result = warmUp(config);
+            log.info("Warm-up finished: {} iterations, {} loopback requests ({} unexpected responses) in {} ms",
+                    result.iterations(), result.requests(), result.unexpected(), result.elapsedMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Warm-up interrupted");
+        } catch (IOException | RuntimeException e) {
+            // Warm-up is best effort; never keep the instance out of rotation
+            log.warn("Warm-up aborted: {}", e.getMessage());
+        } finally {
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Runs the warm-up loop.
+     *
+     * @param config The warm-up settings.
+     * @return What was exercised.
+     */
+    Result warmUp(WarmupConfiguration config) throws IOException, InterruptedException {
+        SecretKey key = jwtUtils.generateSecretKey(properties.getJwt().getSecret());
+        SecretKey forgeryKey = jwtUtils.generateSecretKey(UUID.randomUUID() + "-" + UUID.randomUUID());
+        Map<String, String> claims = Map.of(TokenClaims.USER_TYPE, "SELLER", TokenClaims.ROLE, "ADMIN");
+
+        HttpClient client = null;
+        URI baseUri = null;
+        if (applicationContext instanceof ServletWebServerApplicationContext webContext
+                && Objects.nonNull(webContext.getWebServer()) && webContext.getWebServer().getPort() > 0) {
+            client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+            baseUri = URI.create("http://127.0.0.1:" + webContext.getWebServer().getPort());
+        }
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + config.getTimeBudget().toNanos();
+        int iterations = 0;
+        int requests = 0;
+        int failures = 0;
+
+        User user = userStore.create(User.builder()
+                .id(UUID.randomUUID())
+                .name("warmup")
+                .userType(UserType.SELLER)
+                .role(Role.ADMIN)
+                .build());
+        try {
+            while (iterations < config.getIterations() && System.nanoTime() < deadline) {
+                String userId = UUID.randomUUID().toString();
+                String token = jwtUtils.generateToken("warmup", userId, claims, 60, key);
+                jwtUtils.getTokenClaims(token, key);
+
+                if (Objects.nonNull(client)) {
+                    failures += send(client, baseUri.resolve("/users"), token, 200);
+                    failures += send(client, baseUri.resolve("/users/" + user.getId()), token, 200);
+                    requests += 2;
+                    if (iterations % 10 == 0) {
+                        String forged = jwtUtils.generateToken("warmup", userId, claims, 60, forgeryKey);
+                        failures += send(client, baseUri.resolve("/users"), forged, 401);
+                        requests++;
+                    }
+                }
+                iterations++;
+            }
+        } finally {
+            userStore.delete(user.getId());
+        }
+
+        return new Result(iterations, requests, failures, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Sends an authenticated request and returns 1 if the status is not the
+     * expected one.
+     */
+    private int send(HttpClient client, URI uri, String token, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.COOKIE, properties.getCookie().getName() + "=" + token)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == expectedStatus ? 0 : 1;
+    }
+
+    /**
+     * Summary of a warm-up run.
+     *
+     * @param iterations    The completed iterations.
+     * @param requests      The loopback requests sent.
+     * @param unexpected    The responses whose status was not the expected one.
+     * @param elapsedMillis How long the run took.
+     */
+    record Result(int iterations, int requests, int unexpected, long elapsedMillis) {
+    }
+}
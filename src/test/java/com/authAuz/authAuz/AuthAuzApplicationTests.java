@@ -3,7 +3,9 @@ package com.authAuz.authAuz;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import com.authauz.authauz.AuthAuzApplication;
+
+@SpringBootTest(classes = AuthAuzApplication.class)
 class AuthAuzApplicationTests {
 
 	@Test
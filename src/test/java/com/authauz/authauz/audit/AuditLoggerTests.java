@@ -0,0 +1,203 @@
+package com.authauz.authauz.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.AuditConfiguration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests of the {@link AuditRingBuffer}, the {@link AuditLogWriter} and the
+ * overflow strategies of {@link AuditLogger}. A writer that stalls on a latch
+ * stands in for a slow disk.
+ */
+class AuditLoggerTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ringBufferIsBoundedAndDrainsInPublicationOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(3);
+        List<String> drained = new ArrayList<>();
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event("p" + i))).isTrue();
+        }
+        assertThat(buffer.offer(event("p4"))).isFalse();
+
+        assertThat(buffer.drain(e -> drained.add(e.getPrincipal()), 2)).isEqualTo(2);
+        assertThat(buffer.offer(event("p4"))).isTrue();
+        assertThat(buffer.offer(event("p5"))).isTrue();
+        assertThat(buffer.drain(e -> drained.add(e.getPrincipal()), 10)).isEqualTo(4);
+
+        assertThat(drained).containsExactly("p0", "p1", "p2", "p3", "p4", "p5");
+        assertThat(buffer.drain(e -> drained.add(e.getPrincipal()), 10)).isZero();
+    }
+
+    @Test
+    void writerAppendsEveryEventAsAJsonLine() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AuditLogger logger = new AuditLogger(properties(AuditOverflowStrategy.DROP, 1024), objectMapper);
+
+        logger.start();
+        for (int i = 0; i < 500; i++) {
+            logger.record(event("p" + i));
+        }
+        logger.stop();
+
+        List<String> lines = Files.readAllLines(dir.resolve("audit.jsonl"));
+        assertThat(lines).hasSize(500);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("principal").asText()).isEqualTo("p0");
+        assertThat(first.get("outcome").asText()).isEqualTo("GRANTED");
+        assertThat(logger.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void dropDiscardsAndCountsEventsWhileTheWriterStalls() throws Exception {
+        StallingObjectMapper objectMapper = new StallingObjectMapper();
+        AuditLogger logger = new AuditLogger(properties(AuditOverflowStrategy.DROP, 4), objectMapper);
+
+        logger.start();
+        for (int i = 0; i < 20; i++) {
+            logger.record(event("p" + i));
+        }
+        long dropped = logger.getDroppedCount();
+        objectMapper.release();
+        logger.stop();
+
+        assertThat(dropped).isPositive();
+        assertThat(Files.readAllLines(dir.resolve("audit.jsonl"))).hasSize((int) (20 - dropped));
+    }
+
+    @Test
+    void blockGivesUpAfterTheTimeout() throws Exception {
+        StallingObjectMapper objectMapper = new StallingObjectMapper();
+        AppConfigurationProperties properties = properties(AuditOverflowStrategy.BLOCK, 4);
+        properties.getAudit().setBlockTimeoutMillis(20);
+        AuditLogger logger = new AuditLogger(properties, objectMapper);
+
+        logger.start();
+        try {
+            // One event is held by the stalled writer, the others fill the buffer
+            for (int i = 0; i < 5; i++) {
+                logger.record(event("p" + i));
+            }
+            long startedAt = System.nanoTime();
+            logger.record(event("late"));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            assertThat(waitedMillis).isGreaterThanOrEqualTo(20);
+            assertThat(logger.getDroppedCount()).isPositive();
+        } finally {
+            objectMapper.release();
+            logger.stop();
+        }
+    }
+
+    @Test
+    void writerFailureStopsRecording() throws Exception {
+        // A directory cannot be opened for appending, so the writer dies at once
+        AppConfigurationProperties properties = properties(AuditOverflowStrategy.BLOCK, 4);
+        properties.getAudit().setFile(dir.toString());
+        properties.getAudit().setBlockTimeoutMillis(TimeUnit.MINUTES.toMillis(10));
+        AuditLogger logger = new AuditLogger(properties, new ObjectMapper());
+
+        logger.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (logger.isEnabled() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(logger.isEnabled()).isFalse();
+        // Would wait for the ten minute timeout if the logger still accepted events
+        for (int i = 0; i < 10; i++) {
+            logger.record(event("p" + i));
+        }
+        logger.stop();
+    }
+
+    @Test
+    void writerRuntimeFailureStopsRecording() throws Exception {
+        AppConfigurationProperties properties = properties(AuditOverflowStrategy.BLOCK, 4);
+        properties.getAudit().setBlockTimeoutMillis(TimeUnit.MINUTES.toMillis(10));
+        ObjectMapper failing = new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) {
+                throw new IllegalStateException("serializer failure");
+            }
+        };
+        AuditLogger logger = new AuditLogger(properties, failing);
+
+        logger.start();
+        logger.record(event("p"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (logger.isEnabled() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(logger.isEnabled()).isFalse();
+        for (int i = 0; i < 10; i++) {
+            logger.record(event("p" + i));
+        }
+        logger.stop();
+    }
+
+    private AppConfigurationProperties properties(AuditOverflowStrategy overflow, int bufferSize) {
+        AppConfigurationProperties properties = new AppConfigurationProperties();
+        AuditConfiguration audit = properties.getAudit();
+        audit.setEnabled(true);
+        audit.setFile(dir.resolve("audit.jsonl").toString());
+        audit.setBufferSize(bufferSize);
+        audit.setBatchSize(16);
+        audit.setOverflow(overflow);
+        audit.setFsync(AuditFsyncPolicy.NEVER);
+        return properties;
+    }
+
+    private static AuditEvent event(String principal) {
+        return AuditEvent.builder()
+                .timestamp(System.currentTimeMillis())
+                .type(AuditEventType.AUTHORIZATION)
+                .principal(principal)
+                .endpoint("GET /users")
+                .scope("seller:admin")
+                .outcome(AuditOutcome.GRANTED)
+                .build();
+    }
+
+    /**
+     * Blocks the writer thread on its first encode until released.
+     */
+    private static final class StallingObjectMapper extends ObjectMapper {
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.writeValueAsBytes(value);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.authauz.authauz.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records a granted request, one rejected by the codec and one turned away by
+ * the token gate with the bundled {@code jfr/authauz.jfc} settings and checks
+ * the emitted events.
+ */
+@SpringBootTest(properties = "logging.level.com.authauz.authauz.security.filter=OFF")
+@AutoConfigureMockMvc
+class SecurityJfrEventsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void recordsAuthenticationAndAuthorizationEvents() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        String valid = TestTokens.token(jwtUtils, properties, userId, UserType.SELLER, Role.ADMIN);
+        Path jfrFile = Files.createTempFile("authauz-events", ".jfr");
+
+        List<RecordedEvent> events;
+        try (Reader settings = new InputStreamReader(new ClassPathResource("jfr/authauz.jfc").getInputStream(),
+                StandardCharsets.UTF_8);
+                Recording recording = new Recording(Configuration.create(settings))) {
+            recording.start();
+            mockMvc.perform(get("/users").cookie(new Cookie(properties.getCookie().getName(), valid)))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/users").cookie(new Cookie(properties.getCookie().getName(), valid + "x")))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/users").cookie(new Cookie(properties.getCookie().getName(), "not-a-token")))
+                    .andExpect(status().isUnauthorized());
+            recording.stop();
+            recording.dump(jfrFile);
+            events = RecordingFile.readAllEvents(jfrFile);
+        } finally {
+            Files.deleteIfExists(jfrFile);
+        }
+
+        Map<String, List<RecordedEvent>> byName = events.stream()
+                .collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+
+        assertThat(byName.get("com.authauz.TokenResolution"))
+                .extracting(e -> e.getString("outcome"), e -> e.getString("endpoint"))
+                .containsExactly(
+                        tuple(TokenResolutionEvent.AUTHENTICATED, "GET /users"),
+                        tuple(TokenResolutionEvent.REJECTED, "GET /users"),
+                        tuple(TokenResolutionEvent.REJECTED, "GET /users"));
+        assertThat(byName.get("com.authauz.SignatureVerification"))
+                .extracting(e -> e.getString("outcome"), e -> e.getString("codec"))
+                .containsExactly(
+                        tuple(SignatureVerificationEvent.VALID, "JjwtCodec"),
+                        tuple(SignatureVerificationEvent.INVALID, "JjwtCodec"),
+                        tuple(SignatureVerificationEvent.GATED, "JjwtCodec"));
+        assertThat(byName.get("com.authauz.SignatureVerification").get(0).getDuration("tokenAge").toSeconds())
+                .isBetween(0L, 60L);
+        assertThat(byName.get("com.authauz.ContextBuild"))
+                .extracting(e -> e.getString("userId"))
+                .containsExactly(userId);
+        assertThat(byName.get("com.authauz.AuthorizationDecision"))
+                .extracting(e -> e.getString("outcome"), e -> e.getString("principal"))
+                .containsExactly(
+                        tuple("GRANTED", userId),
+                        tuple("DENIED", null),
+                        tuple("DENIED", null));
+    }
+}
@@ -0,0 +1,76 @@
+package com.authauz.authauz.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties.LoginLimitConfiguration;
+
+/**
+ * Drives {@link GradientConcurrencyLimit} with synthetic round-trip times at
+ * full saturation and checks the direction the limit moves in.
+ */
+class GradientConcurrencyLimitTests {
+    private static final long MILLIS = 1_000_000L;
+
+    private final LoginLimitConfiguration config = new LoginLimitConfiguration();
+    private final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(config);
+
+    @Test
+    void shedsRequestsBeyondTheLimit() {
+        for (int i = 0; i < config.getInitialLimit(); i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(MILLIS, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyHolds() {
+        runWindows(20, 10 * MILLIS, false);
+
+        assertThat(limit.getLimit()).isGreaterThan(config.getInitialLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        runWindows(20, 10 * MILLIS, false);
+        int grown = limit.getLimit();
+
+        runWindows(10, 100 * MILLIS, false);
+
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void backsOffOnFailures() {
+        runWindows(5, 10 * MILLIS, false);
+        int before = limit.getLimit();
+
+        runWindows(5, 10 * MILLIS, true);
+
+        assertThat(limit.getLimit()).isLessThan(before);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(config.getMinLimit());
+    }
+
+    /**
+     * Fills the limit, then completes one window of requests at the given
+     * latency, keeping the limit saturated throughout.
+     */
+    private void runWindows(int windows, long rttNanos, boolean dropped) {
+        for (int w = 0; w < windows; w++) {
+            while (limit.tryAcquire()) {
+                // saturate
+            }
+            for (int i = 0; i < config.getWindowSize(); i++) {
+                limit.release(rttNanos, dropped);
+                limit.tryAcquire();
+            }
+            while (limit.getInflight() > 0) {
+                limit.release(rttNanos, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.authauz.authauz.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.AppConfigurationProperties.QuotaConfiguration.QuotaLimit;
+import com.authauz.authauz.configuration.AppConfigurationProperties.QuotaConfiguration.ScopeQuota;
+import com.authauz.authauz.security.exception.QuotaExceededException;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Checks the GCRA bucket arithmetic and eviction bound, that the group quota
+ * is checked before charging the principal's, and that the aspect
+ * rejects requests over quota with a 429 carrying {@code RateLimit-*} headers.
+ */
+@SpringBootTest(properties = {
+        "com.authauz.authauz.warmup.enabled=false",
+        "com.authauz.authauz.quota.enabled=true",
+        "com.authauz.authauz.quota.scopes.[seller\\:admin].principal.limit=2",
+        "com.authauz.authauz.quota.scopes.[seller\\:admin].principal.period=1h" })
+@AutoConfigureMockMvc
+class QuotaEnforcementTests {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void admitsBurstsAndRefillsAtTheConfiguredRate() {
+        GcraLimiter<String> limiter = new GcraLimiter<>(10, SECOND, 100);
+        long now = 0;
+
+        for (int i = 0; i < 10; i++) {
+            QuotaDecision decision = limiter.acquire("a", now);
+            assertThat(decision.isAllowed()).isTrue();
+            assertThat(decision.getRemaining()).isEqualTo(9 - i);
+        }
+        QuotaDecision rejected = limiter.acquire("a", now);
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterNanos()).isEqualTo(SECOND / 10);
+
+        // One emission interval later exactly one more request fits
+        assertThat(limiter.acquire("a", now + SECOND / 10).isAllowed()).isTrue();
+        assertThat(limiter.acquire("a", now + SECOND / 10).isAllowed()).isFalse();
+        assertThat(limiter.acquire("b", now).isAllowed()).isTrue();
+    }
+
+    @Test
+    void evictsIdleKeysToStayBounded() {
+        GcraLimiter<Integer> limiter = new GcraLimiter<>(1, SECOND, 1_000);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Every key is idle again after a second
+            assertThat(limiter.acquire(i, i * (SECOND / 100)).isAllowed()).isTrue();
+            assertThat(limiter.size()).isLessThanOrEqualTo(1_000);
+        }
+    }
+
+    @Test
+    void sweepsAtMostOncePerPeriodAndRejectsNewKeysInBetween() {
+        GcraLimiter<String> limiter = new GcraLimiter<>(2, SECOND, 2);
+        limiter.acquire("a", 0);
+        limiter.acquire("b", 0);
+
+        // Nothing is idle yet, so the sweep frees no room
+        QuotaDecision full = limiter.acquire("c", 0);
+        assertThat(full.isAllowed()).isFalse();
+        assertThat(full.getRetryAfterNanos()).isEqualTo(SECOND);
+        // a and b are idle after half a second, but are not swept before the
+        // period is over
+        assertThat(limiter.check("c", SECOND / 2 + 1).isAllowed()).isFalse();
+        assertThat(limiter.acquire("c", SECOND / 2 + 1).isAllowed()).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        assertThat(limiter.acquire("c", SECOND).isAllowed()).isTrue();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsRejectedByTheGroupQuotaAreNotChargedToThePrincipal() {
+        AppConfigurationProperties quotas = new AppConfigurationProperties();
+        quotas.getQuota().setEnabled(true);
+        ScopeQuota admin = new ScopeQuota();
+        admin.setPrincipal(limit(2));
+        admin.setGroup(limit(1));
+        quotas.getQuota().getScopes().put("seller:admin", admin);
+        QuotaEnforcer enforcer = new QuotaEnforcer(quotas);
+        UUID userId = UUID.randomUUID();
+
+        assertThat(enforcer.enforce(context(userId, Role.ADMIN), "seller:admin").getRemaining()).isZero();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> enforcer.enforce(context(userId, Role.ADMIN), "seller:admin"))
+                    .isInstanceOf(QuotaExceededException.class);
+        }
+        // The same principal in another group still has its second request
+        assertThat(enforcer.enforce(context(userId, Role.MARKETING), "seller:admin").isAllowed()).isTrue();
+        assertThatThrownBy(() -> enforcer.enforce(context(userId, Role.CSR), "seller:admin"))
+                .isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    void rejectsRequestsOverQuotaWith429() throws Exception {
+        Cookie cookie = cookie();
+
+        mockMvc.perform(get("/users").cookie(cookie))
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/users").cookie(cookie))
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+        mockMvc.perform(get("/users").cookie(cookie))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("Retry-After", "1800"));
+
+        // Other principals have their own buckets
+        mockMvc.perform(get("/users").cookie(cookie()))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+    }
+
+    private static QuotaLimit limit(int limit) {
+        QuotaLimit quota = new QuotaLimit();
+        quota.setLimit(limit);
+        quota.setPeriod(Duration.ofHours(1));
+        return quota;
+    }
+
+    private static RequestContext context(UUID userId, Role role) {
+        return RequestContext.builder().userId(userId).userType(UserType.SELLER).role(role).build();
+    }
+
+    private Cookie cookie() {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+}
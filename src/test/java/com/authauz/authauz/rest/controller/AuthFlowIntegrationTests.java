@@ -0,0 +1,154 @@
+package com.authauz.authauz.rest.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.service.impl.AuthService;
+
+/**
+ * Boots the full application on a random port and walks the login and
+ * authorized {@code /users} flow over HTTP, including the revocation of
+ * tokens by a role change.
+ * <p>
+ * Runs on the JVM with {@code mvn test} and against the native image with
+ * {@code mvn -PnativeTest test}, which is what verifies the AOT runtime hints.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "com.authauz.authauz.client-credentials.enabled=true",
+        "com.authauz.authauz.client-credentials.clients.reporting-service.secret=reporting-service-secret",
+        "com.authauz.authauz.client-credentials.clients.reporting-service.scopes=SELLER_CSR,SELLER_MARKETING" })
+class AuthFlowIntegrationTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @BeforeEach
+    void useJdkHttpClient() {
+        // HttpURLConnection cannot read 401 responses to streamed POST bodies
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+    }
+
+    @Test
+    void loginAndAccessUsers() {
+        ResponseEntity<Map> login = restTemplate.postForEntity("/auth",
+                Map.of("username", "user", "password", "password"), Map.class);
+
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(login.getHeaders().getFirst(HttpHeaders.SET_COOKIE)).startsWith(properties.getCookie().getName());
+        String token = (String) login.getBody().get("token");
+        assertThat(token).isNotBlank();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, properties.getCookie().getName() + "=" + token);
+        ResponseEntity<Map> created = restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "Ada", "userType", "CUSTOMER", "role", "ADMIN"), headers), Map.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String userId = (String) created.getBody().get("id");
+
+        ResponseEntity<String> users = restTemplate.exchange("/users?userType=CUSTOMER&limit=1000", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertThat(users.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(users.getBody()).startsWith("{\"users\":[").contains(userId).endsWith("\"nextCursor\":null}");
+    }
+
+    @Test
+    @DirtiesContext
+    void roleChangeRevokesTokensMintedBefore() {
+        String before = login();
+        String userPath = "/users/" + AuthService.DEMO_USER_ID;
+        assertThat(restTemplate.exchange(userPath, HttpMethod.GET, new HttpEntity<>(cookie(before)), Map.class)
+                .getBody()).containsEntry("role", "ADMIN");
+
+        ResponseEntity<Map> updated = restTemplate.exchange(userPath, HttpMethod.PUT,
+                new HttpEntity<>(Map.of("role", "CSR"), cookie(before)), Map.class);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> stale = restTemplate.exchange(userPath, HttpMethod.GET,
+                new HttpEntity<>(cookie(before)), String.class);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        // A new login carries the new role
+        ResponseEntity<Map> relogin = restTemplate.postForEntity("/auth",
+                Map.of("username", "user", "password", "password"), Map.class);
+        assertThat(relogin.getBody()).containsEntry("role", "CSR");
+        ResponseEntity<String> fresh = restTemplate.exchange(userPath, HttpMethod.GET,
+                new HttpEntity<>(cookie((String) relogin.getBody().get("token"))), String.class);
+        assertThat(fresh.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void rejectsInvalidCredentials() {
+        ResponseEntity<String> login = restTemplate.postForEntity("/auth",
+                Map.of("username", "user", "password", "wrong"), String.class);
+
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void rejectsUsersWithoutToken() {
+        ResponseEntity<String> users = restTemplate.getForEntity("/users", String.class);
+
+        assertThat(users.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(users.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(users.getBody()).contains("\"status\":401");
+    }
+
+    @Test
+    void rejectsMissingScopeWithPreEncodedProblem() {
+        // The reporting-service client registered above holds seller:csr and seller:marketing, not seller:admin
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", "reporting-service");
+        form.add("client_secret",
+                properties.getClientCredentials().getClients().get("reporting-service").getSecret());
+        ResponseEntity<Map> grant = restTemplate.postForEntity("/auth/token", form, Map.class);
+        assertThat(grant.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) grant.getBody().get("access_token"));
+        ResponseEntity<String> deleted = restTemplate.exchange("/users/" + UUID.randomUUID(), HttpMethod.DELETE,
+                new HttpEntity<>(headers), String.class);
+
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(deleted.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(deleted.getBody()).isEqualTo("{\"type\":\"about:blank\",\"title\":\"Forbidden\",\"status\":403,"
+                + "\"detail\":\"Access denied: the authenticated user lacks the scope required by this endpoint\"}");
+    }
+
+    private String login() {
+        ResponseEntity<Map> login = restTemplate.postForEntity("/auth",
+                Map.of("username", "user", "password", "password"), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (String) login.getBody().get("token");
+    }
+
+    private HttpHeaders cookie(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, properties.getCookie().getName() + "=" + token);
+        return headers;
+    }
+}
@@ -0,0 +1,123 @@
+package com.authauz.authauz.rest.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Verifies the client-credentials grant: the bearer token is reused within the
+ * reuse window, carries only the client's scopes, outlives the idle timeout of
+ * user sessions, and bad credentials are rejected.
+ */
+@SpringBootTest(properties = { "com.authauz.authauz.warmup.enabled=false",
+        "com.authauz.authauz.client-credentials.enabled=true",
+        "com.authauz.authauz.client-credentials.clients.billing.secret=billing-secret",
+        "com.authauz.authauz.client-credentials.clients.billing.scopes=SELLER_CSR",
+        "com.authauz.authauz.idle-session.enabled=true",
+        "com.authauz.authauz.idle-session.idle-timeout=100ms",
+        "com.authauz.authauz.idle-session.tick=50ms" })
+@AutoConfigureMockMvc
+class ClientCredentialsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void issuesReusableBearerTokenLimitedToClientScopes() throws Exception {
+        JsonNode first = readToken(requestToken("billing-secret").andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE)));
+        JsonNode second = readToken(requestToken("billing-secret").andExpect(status().isOk()));
+
+        assertThat(first.get("token_type").asText()).isEqualTo("Bearer");
+        assertThat(first.get("scope").asText()).isEqualTo("seller:csr");
+        assertThat(first.get("expires_in").asLong()).isGreaterThan(900);
+        assertThat(second.get("access_token").asText()).isEqualTo(first.get("access_token").asText());
+
+        String bearer = "Bearer " + first.get("access_token").asText();
+        // seller:csr satisfies SELLER_ALL but not SELLER_ADMIN
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/users/" + UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void reusedTokenSurvivesTheIdleTimeout() throws Exception {
+        String bearer = "Bearer " + readToken(requestToken("billing-secret")).get("access_token").asText();
+        Cookie cookie = TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).cookie(cookie)).andExpect(status().isNotFound());
+
+        Thread.sleep(500);
+
+        // The user's session timed out, the client is handed the same token and may still use it
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).cookie(cookie)).andExpect(status().isUnauthorized());
+        assertThat("Bearer " + readToken(requestToken("billing-secret")).get("access_token").asText())
+                .isEqualTo(bearer);
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsBadCredentialsAndGrantTypes() throws Exception {
+        requestToken("wrong-secret")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("invalid_client"));
+        mockMvc.perform(post("/auth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("grant_type", "password")
+                .param("client_id", "billing")
+                .param("client_secret", "billing-secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"error\":\"unsupported_grant_type\"}"));
+    }
+
+    private ResultActions requestToken(String secret) throws Exception {
+        return mockMvc.perform(post("/auth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("grant_type", "client_credentials")
+                .param("client_id", "billing")
+                .param("client_secret", secret));
+    }
+
+    private JsonNode readToken(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,104 @@
+package com.authauz.authauz.rest.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.service.impl.UserImportService;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Verifies that {@code POST /users/import} parses NDJSON and CSV bodies across
+ * several batches and streams back one result per row, in order, followed by
+ * a summary.
+ */
+@SpringBootTest(properties = { "com.authauz.authauz.user-import.batch-size=2",
+        "com.authauz.authauz.user-import.max-in-flight-batches=2" })
+@AutoConfigureMockMvc
+class UserImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void importsNdjsonRowByRow() throws Exception {
+        String body = """
+                {"name":"Ada","email":"ada@example.com","userType":"SELLER","role":"ADMIN"}
+                {"name":"Bob","userType":"CUSTOMER"}
+
+                not json
+                {"name":"Cy","userType":"CUSTOMER","role":"CSR"}
+                {"name":"Di","userType":"SELLER","role":"OWNER"}
+                """;
+
+        String[] lines = importUsers(body, MediaType.APPLICATION_NDJSON).split("\n");
+
+        assertThat(lines).hasSize(6);
+        assertThat(lines[0]).startsWith("{\"line\":1,\"status\":\"created\",\"id\":");
+        assertThat(lines[1]).isEqualTo(
+                "{\"line\":2,\"status\":\"rejected\",\"error\":\"User type and role are required\"}");
+        assertThat(lines[2]).startsWith("{\"line\":4,\"status\":\"rejected\",\"error\":\"Malformed JSON");
+        assertThat(lines[3]).startsWith("{\"line\":5,\"status\":\"created\"");
+        assertThat(lines[4]).startsWith("{\"line\":6,\"status\":\"rejected\"");
+        assertThat(lines[5]).isEqualTo("{\"rows\":5,\"created\":2,\"rejected\":3}");
+    }
+
+    @Test
+    void importsCsvWithHeaderAndQuotes() throws Exception {
+        String body = "role,userType,name,email\r\n"
+                + "ADMIN,SELLER,\"Doe, Jane\",jane@example.com\r\n"
+                + "csr,customer,\"Say \"\"hi\"\"\",\r\n"
+                + "CSR,CUSTOMER,\"unclosed,x@example.com\r\n";
+
+        String[] lines = importUsers(body, UserImportService.TEXT_CSV).split("\n");
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("{\"line\":2,\"status\":\"created\"");
+        assertThat(lines[1]).startsWith("{\"line\":3,\"status\":\"created\"");
+        assertThat(lines[2]).isEqualTo(
+                "{\"line\":4,\"status\":\"rejected\",\"error\":\"Malformed CSV: unbalanced quotes\"}");
+        assertThat(lines[3]).isEqualTo("{\"rows\":3,\"created\":2,\"rejected\":1}");
+    }
+
+    private String importUsers(String body, MediaType contentType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/users/import")
+                .cookie(cookie())
+                .contentType(contentType)
+                .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Cookie cookie() {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+}
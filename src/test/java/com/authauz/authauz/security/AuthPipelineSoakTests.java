@@ -0,0 +1,328 @@
+package com.authauz.authauz.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Soak test of the authentication pipeline under concurrency: the security
+ * filter chain, {@code CookieBasedAuthenticationFilter}, the
+ * {@code ProviderManager}/{@code JwtBasedAuthenticationProvider} pair and
+ * {@code AuthorizeAspect}, driven in-process through MockMvc.
+ * <p>
+ * Every client owns a distinct user id and mixes valid, expired and forged
+ * tokens. Each authenticated response must echo the client's own id, from both
+ * {@link PrincipalScope} and {@link SecurityContextHolder}, and no request may
+ * leave a principal behind on its thread.
+ * <p>
+ * The regular build runs a short, fixed number of requests and only asserts
+ * the outcomes. The soak itself is tagged {@code perf} and also reports JFR
+ * {@code jdk.JavaMonitorEnter} contention, allocation rate and tail latency;
+ * raise its defaults for a real soak, e.g.
+ * {@code mvn -Pperf test -Dtest=AuthPipelineSoakTests -Dsoak.clients=20000 -Dsoak.seconds=300}.
+ * The project targets Java 17, so clients are platform threads rather than
+ * virtual threads.
+ */
+@SpringBootTest(properties = "logging.level.com.authauz.authauz.security.filter=OFF")
+@AutoConfigureMockMvc
+@Import(AuthPipelineSoakTests.WhoAmIController.class)
+class AuthPipelineSoakTests {
+    private static final int BLEED_CHECK_CLIENTS = 8;
+    private static final int BLEED_CHECK_REQUESTS = 250;
+    private static final int CLIENTS = Integer.getInteger("soak.clients", 64);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("soak.seconds", 5));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder bleeds = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    @Test
+    void noPrincipalBleedUnderConcurrency() throws Exception {
+        runClients(BLEED_CHECK_CLIENTS, BLEED_CHECK_REQUESTS, Duration.ofSeconds(60));
+
+        assertOutcomes();
+    }
+
+    @Test
+    @Tag("perf")
+    void soaksThePipeline() throws Exception {
+        Path jfrFile = Files.createTempFile("auth-soak", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            recording.setToDisk(true);
+            recording.start();
+
+            long startedAt = System.nanoTime();
+            runClients(CLIENTS, Integer.MAX_VALUE, DURATION);
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            recording.stop();
+            recording.dump(jfrFile);
+            report(elapsedNanos, jfrFile);
+        } finally {
+            Files.deleteIfExists(jfrFile);
+        }
+
+        assertOutcomes();
+    }
+
+    private void assertOutcomes() {
+        assertThat(unexpected.sum()).as("unexpected responses").isZero();
+        assertThat(bleeds.sum()).as("principal bleed between requests").isZero();
+        assertThat(granted.sum()).isPositive();
+        assertThat(rejected.sum()).isPositive();
+    }
+
+    /**
+     * Runs the clients until each has made its requests or the duration is
+     * over.
+     */
+    private void runClients(int clients, int requestsPerClient, Duration duration) throws InterruptedException {
+        SecretKey key = jwtUtils.generateSecretKey(properties.getJwt().getSecret());
+        SecretKey forgeryKey = jwtUtils.generateSecretKey(UUID.randomUUID() + "-" + UUID.randomUUID());
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    runClient(key, forgeryKey, requestsPerClient, deadline);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertThat(done.await(duration.toSeconds() + 120, TimeUnit.SECONDS)).isTrue();
+        executor.shutdownNow();
+    }
+
+    private void runClient(SecretKey key, SecretKey forgeryKey, int requests, long deadline) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedAtStart = threadBean.getCurrentThreadAllocatedBytes();
+
+        String userId = UUID.randomUUID().toString();
+        Map<String, String> claims = TestTokens.claims(UserType.SELLER, Role.ADMIN);
+        String valid = jwtUtils.generateToken("user", userId, claims, 900, key);
+        String expired = jwtUtils.generateToken("user", userId, claims, -60, key);
+        String forged = jwtUtils.generateToken("user", userId, claims, 900, forgeryKey);
+
+        for (int i = 0; i < requests && System.nanoTime() < deadline; i++) {
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            String token = dice < 70 ? valid : dice < 85 ? expired : forged;
+            call(token, token == valid ? userId : null);
+        }
+
+        allocatedBytes.add(threadBean.getCurrentThreadAllocatedBytes() - allocatedAtStart);
+    }
+
+    /**
+     * Performs one request and checks its outcome.
+     *
+     * @param token          the cookie value to send
+     * @param expectedUserId the id the response must echo, or null if the token
+     *                       must be rejected
+     */
+    private void call(String token, String expectedUserId) {
+        long startedAt = System.nanoTime();
+        int status;
+        String body;
+        try {
+            MvcResult result = mockMvc
+                    .perform(get("/soak/whoami").cookie(new Cookie(properties.getCookie().getName(), token)))
+                    .andReturn();
+            status = result.getResponse().getStatus();
+            body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            // Anything escaping the filter chain or the auth failure advice
+            status = -1;
+            body = null;
+        }
+        latencies.record(System.nanoTime() - startedAt);
+
+        Authentication leftover = SecurityContextHolder.getContext().getAuthentication();
+        if (Objects.nonNull(leftover) || Objects.nonNull(PrincipalScope.currentContext())) {
+            bleeds.increment();
+            SecurityContextHolder.clearContext();
+        }
+
+        if (Objects.isNull(expectedUserId)) {
+            if (status == 200) {
+                unexpected.increment();
+            } else {
+                rejected.increment();
+            }
+        } else if (status != 200) {
+            unexpected.increment();
+        } else if (!(expectedUserId + "|" + expectedUserId).equals(body)) {
+            bleeds.increment();
+        } else {
+            granted.increment();
+        }
+    }
+
+    private void report(long elapsedNanos, Path jfrFile) throws Exception {
+        List<RecordedEvent> monitorEvents = RecordingFile.readAllEvents(jfrFile).stream()
+                .filter(e -> e.getEventType().getName().equals("jdk.JavaMonitorEnter"))
+                .collect(Collectors.toList());
+        Map<String, Long> contendedMonitors = monitorEvents.stream()
+                .collect(Collectors.groupingBy(this::contentionSite, Collectors.counting()));
+        double seconds = elapsedNanos / 1e9;
+        long requests = granted.sum() + rejected.sum() + unexpected.sum();
+
+        System.out.printf("Auth pipeline soak: %d clients, %.1fs, %d requests (%.0f req/s), %d granted, %d rejected%n",
+                CLIENTS, seconds, requests, requests / seconds, granted.sum(), rejected.sum());
+        System.out.printf("Latency p50=%dus p99=%dus p99.9=%dus max=%dus%n", latencies.percentile(50) / 1000,
+                latencies.percentile(99) / 1000, latencies.percentile(99.9) / 1000,
+                latencies.percentile(100) / 1000);
+        System.out.printf("Allocation rate %.1f MB/s, %.1f KB/request%n", allocatedBytes.sum() / seconds / 1e6,
+                allocatedBytes.sum() / 1024.0 / Math.max(1, requests));
+        System.out.printf("Contended monitor enters (>1ms): %d%n", monitorEvents.size());
+        contendedMonitors.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(10)
+                .forEach(e -> System.out.printf("  %6d %s%n", e.getValue(), e.getKey()));
+    }
+
+    /**
+     * Describes a contended monitor by its class and the first non-JDK frame
+     * that entered it.
+     */
+    private String contentionSite(RecordedEvent event) {
+        String caller = Objects.isNull(event.getStackTrace()) ? "?"
+                : event.getStackTrace().getFrames().stream()
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                        .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.")
+                                && !name.startsWith("sun."))
+                        .findFirst()
+                        .orElse("?");
+        return event.getClass("monitorClass").getName() + " <- " + caller;
+    }
+
+    /**
+     * Log-linear latency histogram: 16 linear sub-buckets per power of two,
+     * updated without locks.
+     */
+    private static final class LatencyHistogram {
+        private static final int SUB_BUCKETS = 16;
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet(index(Math.max(1, nanos)));
+        }
+
+        long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank && counts.get(i) > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        private static int index(long value) {
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent < 4) {
+                return (int) value;
+            }
+            int subBucket = (int) ((value >>> (exponent - 4)) & (SUB_BUCKETS - 1));
+            return exponent * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBound(int index) {
+            int exponent = index / SUB_BUCKETS;
+            if (exponent < 4) {
+                return index;
+            }
+            int subBucket = index % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + subBucket + 1)) << (exponent - 4);
+        }
+    }
+
+    /**
+     * Echoes the principal seen by the controller through both
+     * {@link PrincipalScope} and {@link SecurityContextHolder}.
+     */
+    @RestController
+    static class WhoAmIController {
+
+        @GetMapping("/soak/whoami")
+        @Authorize(scope = AppScopes.SELLER_ALL)
+        public String whoAmI() {
+            RequestContext scoped = PrincipalScope.currentContext();
+            RequestContext held = (RequestContext) SecurityContextHolder.getContext().getAuthentication()
+                    .getPrincipal();
+            return scoped.getUserId() + "|" + held.getUserId();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.authauz.authauz.security.aspect;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.security.annotation.Authorize;
+
+/**
+ * Verifies that {@link AuthorizeAspect} honours {@code auth.bypass.endpoints}
+ * through the decision bound by the authentication filter.
+ */
+@SpringBootTest(properties = { "com.authauz.authauz.warmup.enabled=false",
+        "com.authauz.authauz.auth.bypass.endpoints=**/docs/**" })
+@AutoConfigureMockMvc
+@Import(AuthorizeAspectBypassTests.DocsController.class)
+class AuthorizeAspectBypassTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void bypassedEndpointsSkipAuthorization() throws Exception {
+        mockMvc.perform(get("/docs/index"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("docs"));
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @RestController
+    static class DocsController {
+
+        @GetMapping("/docs/index")
+        @Authorize(scope = AppScopes.SELLER_ADMIN)
+        public String index() {
+            return "docs";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.authauz.authauz.security.assertion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+
+/**
+ * Round-trip, forgery and expiry tests of {@link ContextAssertionCodec} on a
+ * fixed clock.
+ */
+class ContextAssertionCodecTests {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ContextAssertionCodec codec = new ContextAssertionCodec(SECRET, 30,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    private final RequestContext context = RequestContext.builder()
+            .userId(UUID.randomUUID())
+            .userType(UserType.CUSTOMER)
+            .role(Role.CSR)
+            .build();
+
+    @Test
+    void roundTripsTheContext() {
+        RequestContext verified = codec.verify(codec.mint(context));
+
+        assertThat(verified.getUserId()).isEqualTo(context.getUserId());
+        assertThat(verified.getUserType()).isEqualTo(UserType.CUSTOMER);
+        assertThat(verified.getRole()).isEqualTo(Role.CSR);
+    }
+
+    @Test
+    void rejectsTamperedAndForeignAssertions() {
+        String assertion = codec.mint(context);
+        char flipped = assertion.charAt(20) == 'A' ? 'B' : 'A';
+        String tampered = assertion.substring(0, 20) + flipped + assertion.substring(21);
+        ContextAssertionCodec other = new ContextAssertionCodec(
+                "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8), 30,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> codec.verify(tampered)).hasMessage("Context assertion is invalid.");
+        assertThatThrownBy(() -> codec.verify(other.mint(context))).hasMessage("Context assertion is invalid.");
+        assertThatThrownBy(() -> codec.verify("not-an-assertion")).hasMessage("Context assertion is malformed.");
+    }
+
+    @Test
+    void rejectsExpiredAssertions() {
+        ContextAssertionCodec later = new ContextAssertionCodec(SECRET, 30,
+                Clock.fixed(NOW.plus(Duration.ofSeconds(30)), ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> later.verify(codec.mint(context))).hasMessage("Context assertion has expired.");
+    }
+}
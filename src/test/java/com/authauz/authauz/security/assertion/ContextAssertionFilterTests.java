@@ -0,0 +1,129 @@
+package com.authauz.authauz.security.assertion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.security.context.PrincipalScope;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Tests of {@link ContextAssertionFilter} and
+ * {@link ContextAssertionInterceptor} around a codec on a fixed clock.
+ */
+class ContextAssertionFilterTests {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String HEADER = "X-Auth-Context";
+
+    private final ContextAssertionCodec codec = new ContextAssertionCodec(SECRET, 30,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    private final ContextAssertionFilter filter = new ContextAssertionFilter(codec, HEADER,
+            List.of("/forward-auth", "/forward-auth/**"));
+    private final RequestContext context = RequestContext.builder()
+            .userId(UUID.randomUUID())
+            .userType(UserType.SELLER)
+            .role(Role.CSR)
+            .build();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filterAuthenticatesValidAssertions() throws Exception {
+        Seen seen = filter("/users", codec.mint(context));
+
+        assertThat(seen.scoped.getUserId()).isEqualTo(context.getUserId());
+        assertThat(seen.scoped.getRole()).isEqualTo(Role.CSR);
+        assertThat(seen.authentication.isAuthenticated()).isTrue();
+        assertThat(PrincipalScope.currentContext()).isNull();
+    }
+
+    @Test
+    void filterIgnoresExpiredTamperedAndExternalAssertions() throws Exception {
+        String assertion = codec.mint(context);
+        char flipped = assertion.charAt(20) == 'A' ? 'B' : 'A';
+        String tampered = assertion.substring(0, 20) + flipped + assertion.substring(21);
+        String expired = new ContextAssertionCodec(SECRET, 30,
+                Clock.fixed(NOW.minus(Duration.ofMinutes(1)), ZoneOffset.UTC)).mint(context);
+
+        for (Seen seen : List.of(filter("/users", tampered), filter("/users", expired),
+                filter("/forward-auth", assertion), filter("/forward-auth/users/1", assertion))) {
+            assertThat(seen.invoked).isTrue();
+            assertThat(seen.scoped).isNull();
+            assertThat(seen.authentication).isNull();
+        }
+    }
+
+    @Test
+    void interceptorPropagatesTheCurrentUser() throws Exception {
+        ContextAssertionInterceptor interceptor = new ContextAssertionInterceptor(codec, HEADER);
+        RequestContext client = RequestContext.builder()
+                .userId(UUID.randomUUID())
+                .grantedScopes(Set.of("seller:csr"))
+                .build();
+
+        MockClientHttpRequest outgoing = new MockClientHttpRequest(HttpMethod.GET, "/downstream");
+        try (var binding = PrincipalScope.bind(context, "GET", "/users")) {
+            interceptor.intercept(outgoing, new byte[0], (request, body) -> new MockClientHttpResponse());
+        }
+        MockClientHttpRequest asClient = new MockClientHttpRequest(HttpMethod.GET, "/downstream");
+        try (var binding = PrincipalScope.bind(client, "GET", "/users")) {
+            interceptor.intercept(asClient, new byte[0], (request, body) -> new MockClientHttpResponse());
+        }
+        MockClientHttpRequest anonymous = new MockClientHttpRequest(HttpMethod.GET, "/downstream");
+        interceptor.intercept(anonymous, new byte[0], (request, body) -> new MockClientHttpResponse());
+
+        assertThat(codec.verify(outgoing.getHeaders().getFirst(HEADER)).getUserId()).isEqualTo(context.getUserId());
+        assertThat(asClient.getHeaders().containsKey(HEADER)).isFalse();
+        assertThat(anonymous.getHeaders().containsKey(HEADER)).isFalse();
+    }
+
+    /**
+     * Runs the filter on a request to the path carrying the assertion and
+     * records what the rest of the chain saw.
+     */
+    private Seen filter(String path, String assertion) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(HEADER, assertion);
+        Seen seen = new Seen();
+        FilterChain chain = (req, res) -> {
+            seen.invoked = true;
+            seen.scoped = PrincipalScope.currentContext();
+            seen.authentication = SecurityContextHolder.getContext().getAuthentication();
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+        return seen;
+    }
+
+    private static final class Seen {
+        private boolean invoked;
+        private RequestContext scoped;
+        private Authentication authentication;
+    }
+}
@@ -0,0 +1,158 @@
+package com.authauz.authauz.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Compares the default security filter chain with the one of the
+ * {@code lean} profile: the exact filters of the lean chain, that it never
+ * creates an {@code HttpSession}, and the per-request overhead of each chain.
+ * <p>
+ * The overhead is measured by running the chain in-process against a no-op
+ * servlet, without and with a valid token. There is no JMH in the build, so
+ * the figures are printed rather than asserted, and the measurements are
+ * tagged {@code perf}: they only run with {@code mvn -Pperf test}.
+ */
+class SecurityFilterChainProfileTests {
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+    // Shared, since creating a servlet context costs more than the chain itself
+    private static final MockServletContext SERVLET_CONTEXT = new MockServletContext();
+    private static final FilterChain NO_OP_SERVLET = (request, response) -> {
+    };
+
+    @Nested
+    @SpringBootTest(properties = "com.authauz.authauz.warmup.enabled=false")
+    class DefaultChain {
+        @Autowired
+        private FilterChainProxy filterChainProxy;
+
+        @Autowired
+        private JwtUtils jwtUtils;
+
+        @Autowired
+        private AppConfigurationProperties properties;
+
+        @Test
+        void keepsTheFullDefaultChain() {
+            assertThat(filterNames(filterChainProxy)).contains("HeaderWriterFilter", "ExceptionTranslationFilter",
+                    "CookieBasedAuthenticationFilter", "ManagementAuthorizationFilter");
+        }
+
+        @Test
+        @Tag("perf")
+        void measuresPerRequestOverhead() throws Exception {
+            report("default", filterChainProxy, cookie(jwtUtils, properties));
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = "com.authauz.authauz.warmup.enabled=false")
+    @AutoConfigureMockMvc
+    @ActiveProfiles("lean")
+    class LeanChain {
+        @Autowired
+        private FilterChainProxy filterChainProxy;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtUtils jwtUtils;
+
+        @Autowired
+        private AppConfigurationProperties properties;
+
+        @Test
+        void buildsOnlyTheRequiredFilters() {
+            assertThat(filterNames(filterChainProxy)).containsExactly(
+                    "DisableEncodeUrlFilter",
+                    "WebAsyncManagerIntegrationFilter",
+                    "SecurityContextHolderFilter",
+                    "CookieBasedAuthenticationFilter",
+                    "ManagementAuthorizationFilter",
+                    "SessionManagementFilter");
+        }
+
+        @Test
+        void authenticatesWithoutCreatingASession() throws Exception {
+            MvcResult result = mockMvc.perform(get("/users/" + UUID.randomUUID())
+                    .cookie(cookie(jwtUtils, properties)))
+                    .andExpect(status().isNotFound())
+                    .andReturn();
+            assertThat(result.getRequest().getSession(false)).isNull();
+
+            mockMvc.perform(get("/users/" + UUID.randomUUID())).andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @Tag("perf")
+        void measuresPerRequestOverhead() throws Exception {
+            report("lean", filterChainProxy, cookie(jwtUtils, properties));
+        }
+    }
+
+    private static List<String> filterNames(FilterChainProxy filterChainProxy) {
+        return filterChainProxy.getFilterChains().get(0).getFilters().stream()
+                .map(filter -> filter.getClass().getSimpleName())
+                .toList();
+    }
+
+    private static Cookie cookie(JwtUtils jwtUtils, AppConfigurationProperties properties) {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+
+    private static void report(String chain, FilterChainProxy filterChainProxy, Cookie cookie) throws Exception {
+        long anonymous = nanosPerRequest(filterChainProxy, null);
+        long authenticated = nanosPerRequest(filterChainProxy, cookie);
+        System.out.printf("Security filter chain '%s' (%d filters): %d ns/request anonymous, %d ns/request "
+                + "with a token%n", chain, filterNames(filterChainProxy).size(), anonymous, authenticated);
+    }
+
+    private static long nanosPerRequest(FilterChainProxy filterChainProxy, Cookie cookie) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            filterChainProxy.doFilter(request(cookie), new MockHttpServletResponse(), NO_OP_SERVLET);
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            filterChainProxy.doFilter(request(cookie), new MockHttpServletResponse(), NO_OP_SERVLET);
+        }
+        return (System.nanoTime() - startedAt) / MEASURED_REQUESTS;
+    }
+
+    private static MockHttpServletRequest request(Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest(SERVLET_CONTEXT, "GET", "/users");
+        if (Objects.nonNull(cookie)) {
+            request.setCookies(cookie);
+        }
+        return request;
+    }
+}
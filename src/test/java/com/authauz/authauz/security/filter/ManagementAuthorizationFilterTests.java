@@ -0,0 +1,71 @@
+package com.authauz.authauz.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+/**
+ * Sends percent-encoded management paths over a real socket: the servlet
+ * container decodes them before the actuator matches its endpoints, so
+ * {@link ManagementAuthorizationFilter} must match the decoded path too.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "com.authauz.authauz.warmup.enabled=false",
+        "logging.level.com.authauz.authauz.security.filter=OFF" })
+class ManagementAuthorizationFilterTests {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void encodedPathsDoNotBypassTheFilter() throws Exception {
+        String admin = cookie(UserType.SELLER, Role.ADMIN);
+        String customer = cookie(UserType.CUSTOMER, Role.ADMIN);
+
+        assertThat(send("GET", "/actuator/%74rafficsketch", null).statusCode()).isEqualTo(401);
+        assertThat(send("GET", "/actuator/%74rafficsketch", customer).statusCode()).isEqualTo(403);
+        assertThat(send("DELETE", "/actuator/%73hadowpolicy", null).statusCode()).isEqualTo(401);
+        assertThat(send("DELETE", "/actuator/%73hadowpolicy", customer).statusCode()).isEqualTo(403);
+
+        // The encoded paths do reach the endpoints once authorized
+        assertThat(send("GET", "/actuator/%74rafficsketch", admin).statusCode()).isEqualTo(200);
+    }
+
+    private String cookie(UserType userType, Role role) {
+        return properties.getCookie().getName() + "="
+                + TestTokens.token(jwtUtils, properties, UUID.randomUUID().toString(), userType, role);
+    }
+
+    private HttpResponse<String> send(String method, String path, String cookie) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        if (Objects.nonNull(cookie)) {
+            request.header("Cookie", cookie);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.authauz.authauz.security.filter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Verifies that, with route authorization enabled, rejections happen in the
+ * filter chain before path variables are converted.
+ */
+@SpringBootTest(properties = "com.authauz.authauz.auth.route-authorization=true")
+@AutoConfigureMockMvc
+@Import(RouteAuthorizationFilterTests.CustomerOnlyController.class)
+class RouteAuthorizationFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void rejectsUnauthenticatedBeforeDispatch() throws Exception {
+        mockMvc.perform(put("/users/not-a-uuid"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    void rejectsMissingScopeBeforePathVariableConversion() throws Exception {
+        mockMvc.perform(get("/route-test/not-a-uuid").cookie(cookie()))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    void passesPermittedRequestsToTheHandler() throws Exception {
+        MvcResult users = mockMvc.perform(get("/users?userType=CUSTOMER").cookie(cookie()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(users))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"users\":[],\"nextCursor\":null}"));
+        mockMvc.perform(get("/users/not-a-uuid").cookie(cookie()))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Issues a seller admin token for a random user.
+     */
+    private Cookie cookie() {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+
+    /**
+     * A customer-only endpoint taking a converted path variable.
+     */
+    @RestController
+    static class CustomerOnlyController {
+
+        @GetMapping("/route-test/{id}")
+        @Authorize(scope = AppScopes.CUSTOMER_ALL)
+        public String customerOnly(@PathVariable UUID id) {
+            return id.toString();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.authauz.authauz.security.forward;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+/**
+ * Drives {@link ForwardAuthServlet} over HTTP the way a reverse proxy would.
+ * The loopback latency measurement is tagged {@code perf}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "com.authauz.authauz.warmup.enabled=false",
+        "logging.level.com.authauz.authauz.security.filter=OFF" })
+class ForwardAuthServletTests {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void answersWithThePrincipalHeadersOrUnauthorized() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        String token = token(userId);
+
+        HttpResponse<String> granted = send("/forward-auth", properties.getCookie().getName() + "=" + token, null);
+        assertThat(granted.statusCode()).isEqualTo(200);
+        assertThat(granted.body()).isEmpty();
+        assertThat(granted.headers().firstValue(ForwardAuthServlet.USER_ID)).hasValue(userId);
+        assertThat(granted.headers().firstValue(ForwardAuthServlet.USER_TYPE)).hasValue("SELLER");
+        assertThat(granted.headers().firstValue(ForwardAuthServlet.USER_ROLE)).hasValue("ADMIN");
+
+        // Envoy appends the original path
+        HttpResponse<String> bearer = send("/forward-auth/orders/42", null, "Bearer " + token);
+        assertThat(bearer.statusCode()).isEqualTo(200);
+        assertThat(bearer.headers().firstValue(ForwardAuthServlet.USER_ID)).hasValue(userId);
+
+        HttpResponse<String> anonymous = send("/forward-auth", null, null);
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(anonymous.body()).isEmpty();
+
+        HttpResponse<String> forged = send("/forward-auth", null, "Bearer " + token.substring(0, token.length() - 2));
+        assertThat(forged.statusCode()).isEqualTo(401);
+    }
+
+    /**
+     * Rough latency benchmark; the project has no JMH, so it prints the
+     * percentiles and only runs with {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void measuresVerificationLatency() throws Exception {
+        String cookie = properties.getCookie().getName() + "=" + token(UUID.randomUUID().toString());
+        for (int i = 0; i < 500; i++) {
+            send("/forward-auth", cookie, null);
+        }
+
+        long[] nanos = new long[2000];
+        for (int i = 0; i < nanos.length; i++) {
+            long startedAt = System.nanoTime();
+            assertThat(send("/forward-auth", cookie, null).statusCode()).isEqualTo(200);
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("Forward auth over loopback: p50=%dus p99=%dus p99.9=%dus%n",
+                nanos[nanos.length / 2] / 1000, nanos[nanos.length * 99 / 100] / 1000,
+                nanos[nanos.length * 999 / 1000] / 1000);
+    }
+
+    private String token(String userId) {
+        return TestTokens.token(jwtUtils, properties, userId, UserType.SELLER, Role.ADMIN);
+    }
+
+    private HttpResponse<String> send(String path, String cookie, String authorization) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (Objects.nonNull(cookie)) {
+            request.header("Cookie", cookie);
+        }
+        if (Objects.nonNull(authorization)) {
+            request.header("Authorization", authorization);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,85 @@
+package com.authauz.authauz.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.common.AppScopes;
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.dto.UserRequest;
+import com.authauz.authauz.rest.controller.UserController;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.Condition;
+import com.authauz.authauz.security.annotation.PrincipalAttribute;
+
+/**
+ * Checks that {@code @Condition}s compile into predicates over the principal
+ * and the handler arguments, and that invalid ones are rejected.
+ */
+class ConditionCompilerTests {
+    private final UUID userId = UUID.randomUUID();
+    private final RequestContext customer = RequestContext.builder()
+            .userId(userId).userType(UserType.CUSTOMER).role(Role.ADMIN).build();
+
+    @Test
+    void customerMayOnlyUpdateThemselves() throws Exception {
+        Method updateUser = UserController.class.getMethod("updateUser", UUID.class, UserRequest.class);
+        EndpointPolicy policy = EndpointPolicyRegistry.policyFor(updateUser);
+
+        assertThat(policy.permits(customer)).isTrue();
+        assertThat(policy.permits(customer, new Object[] { userId })).isTrue();
+        assertThat(policy.permits(customer, new Object[] { UUID.randomUUID() })).isFalse();
+
+        RequestContext seller = RequestContext.builder()
+                .userId(userId).userType(UserType.SELLER).role(Role.CSR).build();
+        assertThat(policy.permits(seller, new Object[] { UUID.randomUUID() })).isTrue();
+    }
+
+    @Test
+    void literalConditionsCompareWithParsedValues() throws Exception {
+        EndpointPolicy policy = EndpointPolicy.of(Handlers.class.getDeclaredMethod("nonAdmins"));
+
+        assertThat(policy.permits(customer, new Object[0])).isFalse();
+        assertThat(policy.permits(RequestContext.builder().userId(userId).userType(UserType.CUSTOMER)
+                .role(Role.CSR).build(), new Object[0])).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidConditions() {
+        assertThatThrownBy(() -> EndpointPolicy.of(Handlers.class.getDeclaredMethod("unknownParam", UUID.class)))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("unknown parameter 'userId'");
+        assertThatThrownBy(() -> EndpointPolicy.of(Handlers.class.getDeclaredMethod("wrongType", String.class)))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("of type String, expected UUID");
+        assertThatThrownBy(() -> EndpointPolicy.of(Handlers.class.getDeclaredMethod("badLiteral")))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("not a valid ROLE");
+    }
+
+    @SuppressWarnings("unused")
+    static class Handlers {
+        @Authorize(scope = AppScopes.CUSTOMER_ALL,
+                conditions = @Condition(principal = PrincipalAttribute.ROLE, value = "admin", op = Condition.Operator.NE))
+        void nonAdmins() {
+        }
+
+        @Authorize(scope = AppScopes.CUSTOMER_ALL,
+                conditions = @Condition(principal = PrincipalAttribute.USER_ID, param = "userId"))
+        void unknownParam(UUID id) {
+        }
+
+        @Authorize(scope = AppScopes.CUSTOMER_ALL,
+                conditions = @Condition(principal = PrincipalAttribute.USER_ID, param = "id"))
+        void wrongType(String id) {
+        }
+
+        @Authorize(scope = AppScopes.CUSTOMER_ALL,
+                conditions = @Condition(principal = PrincipalAttribute.ROLE, value = "owner"))
+        void badLiteral() {
+        }
+    }
+}
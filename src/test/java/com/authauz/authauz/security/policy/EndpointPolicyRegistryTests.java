@@ -0,0 +1,45 @@
+package com.authauz.authauz.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.rest.controller.AuthController;
+import com.authauz.authauz.rest.controller.UserController;
+import com.authauz.authauz.security.annotation.Authorize;
+import com.authauz.authauz.security.annotation.AuthorizeList;
+
+/**
+ * Checks that the runtime method keys line up with the keys generated by the
+ * annotation processor, and that the manifest agrees with reflection.
+ */
+class EndpointPolicyRegistryTests {
+
+    @Test
+    void manifestCoversEveryAnnotatedControllerMethod() {
+        for (Class<?> controller : new Class<?>[] { AuthController.class, UserController.class }) {
+            assertThat(EndpointPolicyRegistry.isInManifest(controller)).isTrue();
+
+            for (Method method : controller.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Authorize.class) && !method.isAnnotationPresent(AuthorizeList.class)) {
+                    continue;
+                }
+                String key = EndpointPolicyRegistry.key(method);
+                EndpointPolicy reflected = EndpointPolicy.of(method);
+                if (SecurityManifest.CONDITIONAL.contains(key)) {
+                    assertThat(SecurityManifest.POLICIES).doesNotContainKey(key);
+                    assertThat(EndpointPolicyRegistry.policyFor(method).getScopes()).isEqualTo(reflected.getScopes());
+                    continue;
+                }
+                EndpointPolicy generated = SecurityManifest.POLICIES.get(key);
+
+                assertThat(generated).as(method.toString()).isNotNull();
+                assertThat(generated.isBypass()).isEqualTo(reflected.isBypass());
+                assertThat(generated.getScopes()).isEqualTo(reflected.getScopes());
+                assertThat(EndpointPolicyRegistry.policyFor(method)).isSameAs(generated);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.authauz.authauz.security.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that {@link PermissionVersionRegistry} rejects tokens minted before
+ * a permission change and forgets users once their old tokens have expired.
+ */
+class PermissionVersionRegistryTests {
+    private final MutableClock clock = new MutableClock();
+    private final PermissionVersionRegistry registry = new PermissionVersionRegistry(Duration.ofSeconds(900), clock);
+
+    @Test
+    void rejectsTokensMintedBeforeTheLastChange() {
+        UUID userId = UUID.randomUUID();
+        assertThat(registry.isStale(userId, null)).isFalse();
+
+        long first = registry.bump(userId);
+        assertThat(registry.isStale(userId, null)).isTrue();
+        assertThat(registry.isStale(userId, first)).isFalse();
+
+        // A second change within the same millisecond still moves the version
+        long second = registry.bump(userId);
+        assertThat(second).isGreaterThan(first);
+        assertThat(registry.isStale(userId, first)).isTrue();
+        assertThat(registry.isStale(UUID.randomUUID(), null)).isFalse();
+    }
+
+    @Test
+    void evictsUsersAfterTheMaxTokenLifetime() {
+        UUID changed = UUID.randomUUID();
+        long version = registry.bump(changed);
+
+        clock.advance(Duration.ofSeconds(905));
+        registry.bump(UUID.randomUUID());
+        assertThat(registry.currentVersion(changed)).isEqualTo(version);
+
+        // Sweeps run a few times per lifetime, on the write path
+        clock.advance(Duration.ofSeconds(300));
+        UUID other = UUID.randomUUID();
+        registry.bump(other);
+        assertThat(registry.currentVersion(changed)).isZero();
+        assertThat(registry.size()).isEqualTo(2);
+
+        // Versions stay ordered across an eviction
+        assertThat(registry.bump(changed)).isGreaterThan(version);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.authauz.authauz.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.common.RequestContext;
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.dto.UserRequest;
+import com.authauz.authauz.security.context.PrincipalScope;
+import com.authauz.authauz.security.exception.ForbiddenException;
+import com.authauz.authauz.security.token.PermissionVersionRegistry;
+import com.authauz.authauz.store.User;
+import com.authauz.authauz.store.UserStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks who may choose a user's type and role through
+ * {@link UserService#createUser} and {@link UserService#updateUser}.
+ */
+class UserServiceTests {
+    private final UserStore userStore = new UserStore();
+    private final PermissionVersionRegistry permissionVersions = new PermissionVersionRegistry(properties());
+    private final UserService userService = new UserService(userStore, new ObjectMapper(), properties(),
+            permissionVersions);
+
+    @Test
+    void customersCannotChangeTheirOwnTypeOrRole() {
+        User customer = userStore.create(User.builder()
+                .id(UUID.randomUUID())
+                .name("Ada")
+                .email("ada@example.com")
+                .userType(UserType.CUSTOMER)
+                .role(Role.CSR)
+                .build());
+        RequestContext self = RequestContext.builder()
+                .userId(customer.getId())
+                .userType(UserType.CUSTOMER)
+                .role(Role.CSR)
+                .build();
+
+        try (var binding = PrincipalScope.bind(self, "PUT", "/users/" + customer.getId())) {
+            assertThat(userService.updateUser(customer.getId(), request("Ada L.", null, null)).getName())
+                    .isEqualTo("Ada L.");
+            assertThatThrownBy(() -> userService.updateUser(customer.getId(), request(null, null, Role.ADMIN)))
+                    .isInstanceOf(ForbiddenException.class);
+            assertThatThrownBy(() -> userService.updateUser(customer.getId(),
+                    request(null, UserType.SELLER, null))).isInstanceOf(ForbiddenException.class);
+            // Restating the current values is not a change
+            assertThat(userService.updateUser(customer.getId(), request(null, UserType.CUSTOMER, Role.CSR))
+                    .getRole()).isEqualTo(Role.CSR);
+        }
+
+        User stored = userStore.find(customer.getId()).orElseThrow();
+        assertThat(stored.getUserType()).isEqualTo(UserType.CUSTOMER);
+        assertThat(stored.getRole()).isEqualTo(Role.CSR);
+        assertThat(permissionVersions.currentVersion(customer.getId())).isZero();
+    }
+
+    @Test
+    void sellerAdminsCanChangeTypeAndRole() {
+        User customer = userStore.create(User.builder()
+                .id(UUID.randomUUID())
+                .name("Grace")
+                .email("grace@example.com")
+                .userType(UserType.CUSTOMER)
+                .role(Role.CSR)
+                .build());
+        RequestContext admin = RequestContext.builder()
+                .userId(UUID.randomUUID())
+                .userType(UserType.SELLER)
+                .role(Role.ADMIN)
+                .build();
+
+        try (var binding = PrincipalScope.bind(admin, "PUT", "/users/" + customer.getId())) {
+            assertThat(userService.updateUser(customer.getId(), request(null, UserType.SELLER, Role.MARKETING))
+                    .getRole()).isEqualTo(Role.MARKETING);
+        }
+
+        assertThat(permissionVersions.currentVersion(customer.getId())).isPositive();
+    }
+
+    @Test
+    void customersMayOnlyCreateCustomers() {
+        RequestContext customer = RequestContext.builder()
+                .userId(UUID.randomUUID())
+                .userType(UserType.CUSTOMER)
+                .role(Role.ADMIN)
+                .build();
+
+        try (var binding = PrincipalScope.bind(customer, "POST", "/users")) {
+            assertThat(userService.createUser(request("Ada", UserType.CUSTOMER, Role.ADMIN)).getUserType())
+                    .isEqualTo(UserType.CUSTOMER);
+            assertThatThrownBy(() -> userService.createUser(request("Eve", UserType.SELLER, Role.ADMIN)))
+                    .isInstanceOf(ForbiddenException.class);
+        }
+    }
+
+    @Test
+    void deniesTypeAndRoleChoicesWithoutPrincipal() {
+        User customer = userStore.create(User.builder()
+                .id(UUID.randomUUID())
+                .name("Ada")
+                .email("ada@example.com")
+                .userType(UserType.CUSTOMER)
+                .role(Role.CSR)
+                .build());
+
+        assertThatThrownBy(() -> userService.createUser(request("Eve", UserType.SELLER, Role.ADMIN)))
+                .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> userService.updateUser(customer.getId(), request(null, null, Role.ADMIN)))
+                .isInstanceOf(ForbiddenException.class);
+
+        // In-process callers state their privilege explicitly
+        assertThat(userService.createUserAsSystem(request("Eve", UserType.SELLER, Role.ADMIN)).getUserType())
+                .isEqualTo(UserType.SELLER);
+        assertThat(userService.updateUserAsSystem(customer.getId(), request(null, null, Role.ADMIN)).getRole())
+                .isEqualTo(Role.ADMIN);
+    }
+
+    private static UserRequest request(String name, UserType userType, Role role) {
+        return UserRequest.builder().name(name).userType(userType).role(role).build();
+    }
+
+    private static AppConfigurationProperties properties() {
+        AppConfigurationProperties properties = new AppConfigurationProperties();
+        properties.setJwt(new AppConfigurationProperties.JwtConfiguration());
+        properties.getJwt().setExpiresIn(900);
+        return properties;
+    }
+}
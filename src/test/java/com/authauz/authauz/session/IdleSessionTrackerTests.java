@@ -0,0 +1,139 @@
+package com.authauz.authauz.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties.IdleSessionConfiguration;
+
+/**
+ * Verifies idle expiry through the levels of the timing wheel and bounds the
+ * memory per session. The touch-cost measurement at a million sessions is
+ * tagged {@code perf}.
+ */
+class IdleSessionTrackerTests {
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void expiresSessionsIdleForLongerThanTheTimeout() {
+        IdleSessionTracker tracker = tracker(Duration.ofSeconds(10));
+        UUID session = UUID.randomUUID();
+        long expiresAt = clock.instant().plusSeconds(900).getEpochSecond();
+
+        assertThat(tracker.touch(session, expiresAt)).isTrue();
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(tracker.touch(session, expiresAt)).isTrue();
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(tracker.touch(session, expiresAt)).isTrue();
+
+        clock.advance(Duration.ofSeconds(11));
+        assertThat(tracker.touch(session, expiresAt)).isFalse();
+        assertThat(tracker.touch(session, expiresAt)).isFalse();
+        assertThat(tracker.expiredSessions()).isEqualTo(1);
+
+        // Forgotten once the token has expired
+        clock.advance(Duration.ofSeconds(900));
+        tracker.touch(UUID.randomUUID(), null);
+        assertThat(tracker.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cascadesLongTimeoutsThroughTheLevels() {
+        IdleSessionTracker tracker = tracker(Duration.ofHours(2));
+        UUID active = UUID.randomUUID();
+        UUID abandoned = UUID.randomUUID();
+        long expiresAt = clock.instant().plus(Duration.ofDays(2)).getEpochSecond();
+
+        tracker.touch(active, expiresAt);
+        tracker.touch(abandoned, expiresAt);
+        for (int i = 0; i < 20; i++) {
+            clock.advance(Duration.ofMinutes(100));
+            assertThat(tracker.touch(active, expiresAt)).isTrue();
+        }
+
+        assertThat(tracker.touch(abandoned, expiresAt)).isFalse();
+        assertThat(tracker.expiredSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void staysUnder128BytesPerSession() {
+        IdleSessionTracker tracker = tracker(Duration.ofMinutes(10));
+        UUID[] sessions = touchAll(tracker, 100_000);
+
+        assertThat(tracker.size()).isEqualTo(sessions.length);
+        assertThat(tracker.footprintBytes() / sessions.length).isLessThan(128);
+    }
+
+    /**
+     * Rough touch-cost benchmark; the project has no JMH, so it prints the
+     * figures and only runs with {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void measuresAMillionSessions() {
+        IdleSessionTracker tracker = tracker(Duration.ofMinutes(10));
+        UUID[] sessions = touchAll(tracker, 1_000_000);
+        long expiresAt = clock.instant().plusSeconds(900).getEpochSecond();
+
+        long startedAt = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            clock.advance(Duration.ofSeconds(1));
+            for (UUID session : sessions) {
+                tracker.touch(session, expiresAt);
+            }
+        }
+        long nanosPerTouch = (System.nanoTime() - startedAt) / (3L * sessions.length);
+
+        long bytes = tracker.footprintBytes();
+        System.out.printf("Idle session tracker: %d sessions, %.1f MB (%d bytes/session), %d ns/touch%n",
+                tracker.size(), bytes / 1e6, bytes / sessions.length, nanosPerTouch);
+    }
+
+    private UUID[] touchAll(IdleSessionTracker tracker, int count) {
+        UUID[] sessions = new UUID[count];
+        long expiresAt = clock.instant().plusSeconds(900).getEpochSecond();
+        for (int i = 0; i < sessions.length; i++) {
+            sessions[i] = UUID.randomUUID();
+            tracker.touch(sessions[i], expiresAt);
+        }
+        return sessions;
+    }
+
+    private IdleSessionTracker tracker(Duration idleTimeout) {
+        IdleSessionConfiguration config = new IdleSessionConfiguration();
+        config.setEnabled(true);
+        config.setIdleTimeout(idleTimeout);
+        return new IdleSessionTracker(config, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
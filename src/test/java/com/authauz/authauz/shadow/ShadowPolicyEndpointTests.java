@@ -0,0 +1,119 @@
+package com.authauz.authauz.shadow;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Verifies that a candidate policy stricter than the live one is reported as
+ * {@code WOULD_DENY} for the affected user type and role, while the live
+ * decision is unchanged, and that only seller admins reach the endpoint.
+ */
+@SpringBootTest(properties = {
+        "com.authauz.authauz.warmup.enabled=false",
+        "com.authauz.authauz.shadow-policy.enabled=true",
+        "com.authauz.authauz.shadow-policy.sample-rate=1.0",
+        "com.authauz.authauz.shadow-policy.candidates.[UserController#getUser]=SELLER_CSR",
+        "com.authauz.authauz.client-credentials.enabled=true",
+        "com.authauz.authauz.client-credentials.clients.reporting-service.secret=reporting-service-secret",
+        "com.authauz.authauz.client-credentials.clients.reporting-service.scopes=SELLER_CSR,SELLER_MARKETING" })
+@AutoConfigureMockMvc
+class ShadowPolicyEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Autowired
+    private ShadowPolicyEvaluator evaluator;
+
+    @Test
+    void reportsDivergencesOfTheCandidatePolicy() throws Exception {
+        mockMvc.perform(delete("/actuator/shadowpolicy").cookie(cookie())).andExpect(status().is2xxSuccessful());
+        for (int i = 0; i < 3; i++) {
+            // Live policy SELLER_ALL grants the seller admin; the user is unknown
+            mockMvc.perform(get("/users/" + UUID.randomUUID()).cookie(cookie()))
+                    .andExpect(status().isNotFound());
+        }
+        awaitEvaluations(3);
+
+        mockMvc.perform(get("/actuator/shadowpolicy").cookie(cookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampled", is(3)))
+                .andExpect(jsonPath("$.wouldDeny", is(3)))
+                .andExpect(jsonPath("$.divergences[0].endpoint", is("UserController#getUser")))
+                .andExpect(jsonPath("$.divergences[0].divergence", is("WOULD_DENY")))
+                .andExpect(jsonPath("$.divergences[0].principal", is("SELLER:ADMIN")))
+                .andExpect(jsonPath("$.divergences[0].count", is(3)));
+    }
+
+    @Test
+    void onlySellerAdminsMayReadOrResetTheReport() throws Exception {
+        mockMvc.perform(get("/actuator/shadowpolicy"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+        mockMvc.perform(delete("/actuator/shadowpolicy"))
+                .andExpect(status().isUnauthorized());
+
+        // The reporting-service client registered above holds seller:csr and seller:marketing, not seller:admin
+        String token = JsonPath.read(mockMvc.perform(post("/auth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("grant_type", "client_credentials")
+                .param("client_id", "reporting-service")
+                .param("client_secret",
+                        properties.getClientCredentials().getClients().get("reporting-service").getSecret()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.access_token");
+        mockMvc.perform(get("/actuator/shadowpolicy").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/shadowpolicy").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        // Health probes stay open
+        mockMvc.perform(get("/actuator/health/liveness")).andExpect(status().isOk());
+    }
+
+    private void awaitEvaluations(long expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Map<String, Object> report = evaluator.report();
+            if ((Long) report.get("agreed") + (Long) report.get("wouldDeny") + (Long) report.get("wouldGrant")
+                    >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private Cookie cookie() {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+}
@@ -0,0 +1,53 @@
+package com.authauz.authauz.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the accuracy of {@link HyperLogLog} and {@link HeavyHitters} on
+ * synthetic traffic.
+ */
+class SketchTests {
+
+    @Test
+    void hyperLogLogEstimatesDistinctPrincipals() {
+        HyperLogLog hll = new HyperLogLog(14);
+        UUID[] principals = new UUID[100_000];
+        for (int i = 0; i < principals.length; i++) {
+            principals[i] = UUID.randomUUID();
+        }
+
+        // Every principal seen several times, in random order
+        for (int i = 0; i < 500_000; i++) {
+            hll.add(Hashing.hash(principals[ThreadLocalRandom.current().nextInt(principals.length)]));
+        }
+        for (UUID principal : principals) {
+            hll.add(Hashing.hash(principal));
+        }
+
+        assertThat((double) hll.estimate()).isCloseTo(principals.length, within(principals.length * 0.03));
+        assertThat(new HyperLogLog(14).estimate()).isZero();
+    }
+
+    @Test
+    void heavyHittersFindTheHottestKeys() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(3, new CountMinSketch(4, 2048));
+
+        for (int i = 0; i < 200_000; i++) {
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            String key = dice < 20 ? "GET /users" : dice < 30 ? "PUT /users" : dice < 35 ? "POST /users"
+                    : "GET /users/" + ThreadLocalRandom.current().nextInt(50_000);
+            hitters.add(key, Hashing.hash(key));
+        }
+
+        Map<String, Long> top = hitters.top();
+        assertThat(top.keySet()).containsExactly("GET /users", "PUT /users", "POST /users");
+        assertThat(top.get("GET /users")).isBetween(38_000L, 44_000L);
+    }
+}
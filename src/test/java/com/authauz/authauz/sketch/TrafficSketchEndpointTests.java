@@ -0,0 +1,70 @@
+package com.authauz.authauz.sketch;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.support.TestTokens;
+import com.authauz.authauz.utils.JwtUtils;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Verifies that {@code /actuator/trafficsketch}, which names the hottest
+ * principals, is only served to seller admins, and that it names endpoints by
+ * route pattern.
+ */
+@SpringBootTest(properties = "com.authauz.authauz.warmup.enabled=false")
+@AutoConfigureMockMvc
+class TrafficSketchEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Test
+    void onlySellerAdminsMayReadTheReport() throws Exception {
+        mockMvc.perform(get("/actuator/trafficsketch"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+        mockMvc.perform(get("/actuator/trafficsketch").cookie(cookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current").exists());
+    }
+
+    @Test
+    void keysEndpointsByRoutePattern() throws Exception {
+        Cookie cookie = cookie();
+        UUID first = UUID.randomUUID();
+        mockMvc.perform(get("/users/" + first).cookie(cookie)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).cookie(cookie)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/trafficsketch").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current.topEndpoints['GET /users/{id}']").exists())
+                .andExpect(jsonPath("$.current.topEndpoints['GET /users/" + first + "']").doesNotExist());
+    }
+
+    private Cookie cookie() {
+        return TestTokens.cookie(jwtUtils, properties, UserType.SELLER, Role.ADMIN);
+    }
+}
@@ -0,0 +1,118 @@
+package com.authauz.authauz.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+
+/**
+ * Checks the primary index against a {@code HashMap} under churn, keyset
+ * scans through the secondary indexes, and that page reads stay flat as the
+ * store grows.
+ */
+class UserStoreTests {
+
+    @Test
+    void indexAgreesWithHashMapUnderChurn() {
+        UuidIndex index = new UuidIndex();
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> keys = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 200_000; i++) {
+            if (keys.isEmpty() || random.nextInt(3) > 0) {
+                UUID key = new UUID(random.nextLong(16), random.nextLong());
+                keys.add(key);
+                Integer previous = expected.put(key, i);
+                assertThat(index.put(key, i)).isEqualTo(Objects.isNull(previous) ? UuidIndex.ABSENT : previous);
+            } else {
+                UUID key = keys.get(random.nextInt(keys.size()));
+                Integer removed = expected.remove(key);
+                assertThat(index.remove(key)).isEqualTo(Objects.isNull(removed) ? UuidIndex.ABSENT : removed);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (UUID key : keys) {
+            assertThat(index.get(key)).isEqualTo(expected.getOrDefault(key, UuidIndex.ABSENT));
+        }
+    }
+
+    @Test
+    void scansFollowFiltersUpdatesAndDeletes() {
+        UserStore store = new UserStore();
+        List<User> sellers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            User user = store.create(user(i % 2 == 0 ? UserType.SELLER : UserType.CUSTOMER, Role.values()[i % 4]));
+            if (user.getUserType() == UserType.SELLER && user.getRole() == Role.ADMIN) {
+                sellers.add(user);
+            }
+        }
+
+        // Move one seller admin to CSR and delete another
+        store.update(sellers.get(0).getId(), el -> el.toBuilder().role(Role.CSR).build());
+        store.delete(sellers.get(1).getId());
+
+        List<UUID> listed = new ArrayList<>();
+        User[] batch = new User[100];
+        int from = 0;
+        int count;
+        do {
+            count = store.scan(UserType.SELLER, Role.ADMIN, from, batch, batch.length);
+            for (int i = 0; i < count; i++) {
+                listed.add(batch[i].getId());
+                from = batch[i].getSequence() + 1;
+            }
+        } while (count == batch.length);
+
+        assertThat(listed).containsExactlyElementsOf(sellers.subList(2, sellers.size()).stream()
+                .map(User::getId).toList());
+        assertThat(store.find(sellers.get(0).getId())).get().extracting(User::getRole).isEqualTo(Role.CSR);
+        assertThat(store.find(sellers.get(1).getId())).isEmpty();
+        assertThat(store.size()).isEqualTo(9_999);
+    }
+
+    /**
+     * Rough page-read benchmark; the project has no JMH, so it prints timings
+     * instead of asserting them and only runs with {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void pageReadsStayFlatAsTheStoreGrows() {
+        UserStore store = new UserStore();
+        User[] batch = new User[100];
+        int size = 0;
+        for (int target : new int[] { 10_000, 100_000, 1_000_000 }) {
+            while (size < target) {
+                store.create(user(UserType.values()[size % 2], Role.values()[size % 4]));
+                size++;
+            }
+
+            long startedAt = System.nanoTime();
+            int pages = 2_000;
+            for (int i = 0; i < pages; i++) {
+                int from = ThreadLocalRandom.current().nextInt(size);
+                assertThat(store.scan(UserType.SELLER, Role.CSR, from, batch, batch.length))
+                        .isLessThanOrEqualTo(batch.length);
+                store.find(Objects.isNull(batch[0]) ? UUID.randomUUID() : batch[0].getId());
+            }
+            System.out.printf("User store: %,d users, %.1f us per filtered page of %d%n", size,
+                    (System.nanoTime() - startedAt) / 1e3 / pages, batch.length);
+        }
+    }
+
+    private static User user(UserType userType, Role role) {
+        return User.builder().id(UUID.randomUUID()).userType(userType).role(role).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.authauz.authauz.support;
+
+import java.util.Map;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+
+import com.authauz.authauz.common.Role;
+import com.authauz.authauz.common.UserType;
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.utils.JwtUtils;
+import com.authauz.authauz.utils.TokenClaims;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Mints user tokens for tests, signed with the configured key and carrying
+ * the given user type and role.
+ */
+public final class TestTokens {
+    private static final int EXPIRES_IN = 900;
+
+    private TestTokens() {
+    }
+
+    /**
+     * @return The user type and role claims of a user token.
+     */
+    public static Map<String, String> claims(UserType userType, Role role) {
+        return Map.of(TokenClaims.USER_TYPE, userType.toString(), TokenClaims.ROLE, role.toString());
+    }
+
+    /**
+     * Mints a token valid for 15 minutes.
+     *
+     * @param userId The user id, carried as the audience.
+     * @return The signed token.
+     */
+    public static String token(JwtUtils jwtUtils, AppConfigurationProperties properties, String userId,
+            UserType userType, Role role) {
+        SecretKey key = jwtUtils.generateSecretKey(properties.getJwt().getSecret());
+        return jwtUtils.generateToken("user", userId, claims(userType, role), EXPIRES_IN, key);
+    }
+
+    /**
+     * Mints a token for a random user id, in the configured cookie.
+     *
+     * @return The authentication cookie.
+     */
+    public static Cookie cookie(JwtUtils jwtUtils, AppConfigurationProperties properties, UserType userType,
+            Role role) {
+        return new Cookie(properties.getCookie().getName(),
+                token(jwtUtils, properties, UUID.randomUUID().toString(), userType, role));
+    }
+}
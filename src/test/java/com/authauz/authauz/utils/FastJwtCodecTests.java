@@ -0,0 +1,176 @@
+package com.authauz.authauz.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Differential tests of {@link FastJwtCodec} against the jjwt-backed
+ * {@link JjwtCodec}: tokens minted by either side must verify on the other with
+ * identical claims, and rejections must agree. A test tagged {@code perf}
+ * compares their sign and verify throughput.
+ */
+class FastJwtCodecTests {
+    private static final SecretKey KEY = Keys
+            .hmacShaKeyFor("++36xfSobeiERWDtfXGvtF1MTkxHITOKR0R8j/8OsTs=".getBytes(StandardCharsets.UTF_8));
+    private static final SecretKey OTHER_KEY = Keys
+            .hmacShaKeyFor("nXnQ9uV1wTmI4bqDkGZ3yS0oP7aLrEc2hJfK8xYtW6M=".getBytes(StandardCharsets.UTF_8));
+
+    private static volatile int sink;
+
+    private final JjwtCodec jjwt = new JjwtCodec();
+    private final FastJwtCodec fast = new FastJwtCodec(jjwt);
+
+    @Test
+    void fastTokensVerifyWithJjwt() {
+        TokenClaims claims = claims("user", 900);
+
+        String token = fast.sign(claims, KEY);
+
+        assertThat(jjwt.verify(token, KEY)).isEqualTo(claims);
+        assertThat(fast.verify(token, KEY)).isEqualTo(claims);
+    }
+
+    @Test
+    void jjwtTokensVerifyWithFastCodec() {
+        TokenClaims claims = claims("user", 900);
+
+        String token = jjwt.sign(claims, KEY);
+
+        assertThat(fast.verify(token, KEY)).isEqualTo(jjwt.verify(token, KEY)).isEqualTo(claims);
+    }
+
+    @Test
+    void escapedAndNonAsciiValuesRoundTrip() {
+        TokenClaims claims = claims("us\"er\\é☃😀\n", 900);
+
+        assertThat(jjwt.verify(fast.sign(claims, KEY), KEY)).isEqualTo(claims);
+        assertThat(fast.verify(jjwt.sign(claims, KEY), KEY)).isEqualTo(claims);
+    }
+
+    @Test
+    void rejectsForgedSignatureLikeJjwt() {
+        String forged = fast.sign(claims("user", 900), OTHER_KEY);
+
+        assertThatThrownBy(() -> jjwt.verify(forged, KEY)).hasMessage("Authentication token is invalid.");
+        assertThatThrownBy(() -> fast.verify(forged, KEY)).hasMessage("Authentication token is invalid.");
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = fast.sign(claims("user", 900), KEY);
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + fast.sign(claims("admin", 900), KEY).split("\\.")[1] + "." + parts[2];
+
+        assertThatThrownBy(() -> jjwt.verify(tampered, KEY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fast.verify(tampered, KEY)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsExpiredTokenLikeJjwt() {
+        String expired = fast.sign(claims("user", -60), KEY);
+
+        assertThatThrownBy(() -> jjwt.verify(expired, KEY)).hasMessage("Authentication token has expired.");
+        assertThatThrownBy(() -> fast.verify(expired, KEY)).hasMessage("Authentication token has expired.");
+    }
+
+    @Test
+    void fallsBackToJjwtForOtherShapes() {
+        Date now = new Date();
+        String nested = Jwts.builder()
+                .subject("user")
+                .audience().add(UUID.randomUUID().toString()).and()
+                .claim("permissions", Map.of("users", "read"))
+                .expiration(new Date(now.getTime() + 60_000))
+                .signWith(KEY)
+                .compact();
+        String typed = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("user")
+                .claim(TokenClaims.ROLE, "ADMIN")
+                .signWith(KEY)
+                .compact();
+
+        assertThat(fast.verify(nested, KEY)).isEqualTo(jjwt.verify(nested, KEY));
+        assertThat(fast.verify(typed, KEY)).isEqualTo(jjwt.verify(typed, KEY));
+    }
+
+    @Test
+    void rejectsMalformedTokensLikeJjwt() {
+        for (String junk : new String[] { "", "abc", "a.b.c", "eyJhbGciOiJIUzI1NiJ9.!!!.???" }) {
+            Class<? extends Throwable> expected = catchType(() -> jjwt.verify(junk, KEY));
+            assertThat(expected).isNotNull();
+            assertThat(catchType(() -> fast.verify(junk, KEY))).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Rough single-thread throughput comparison of the two codecs; the project
+     * has no JMH, so it prints the figures and only runs with
+     * {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void comparesSignAndVerifyThroughput() {
+        TokenClaims claims = claims("user", 900);
+        String token = jjwt.sign(claims, KEY);
+
+        for (JwtCodec codec : new JwtCodec[] { jjwt, fast }) {
+            // Warm up, then measure
+            opsPerSecond(() -> codec.sign(claims, KEY), 50_000);
+            opsPerSecond(() -> codec.verify(token, KEY), 50_000);
+            System.out.printf("%s: sign %,d ops/s, verify %,d ops/s%n", codec.getClass().getSimpleName(),
+                    opsPerSecond(() -> codec.sign(claims, KEY), 200_000),
+                    opsPerSecond(() -> codec.verify(token, KEY), 200_000));
+        }
+    }
+
+    private static long opsPerSecond(Supplier<?> operation, int count) {
+        int hashes = 0;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            hashes += operation.get().hashCode();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        // Keeps the results observable so the loop is not optimized away
+        sink = hashes;
+        return count * 1_000_000_000L / elapsed;
+    }
+
+    private static Class<? extends Throwable> catchType(Runnable runnable) {
+        try {
+            runnable.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static TokenClaims claims(String subject, int expiresIn) {
+        long now = System.currentTimeMillis() / 1000L;
+        return TokenClaims.builder()
+                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .audience(UUID.randomUUID().toString())
+                .issuedAt(now - 120)
+                .notBefore(now - 120)
+                .expiration(now + expiresIn)
+                .userType("SELLER")
+                .role("ADMIN")
+                .permissionVersion(now * 1000L)
+                .build();
+    }
+}
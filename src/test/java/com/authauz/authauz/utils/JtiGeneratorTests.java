@@ -0,0 +1,162 @@
+package com.authauz.authauz.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.configuration.JtiGeneratorConfiguration;
+
+/**
+ * Tests of the {@link JtiGenerator} strategies: identifier format, uniqueness
+ * across threads, time ordering, and selection through
+ * {@code com.authauz.authauz.jwt.jti-strategy}. Their throughput under
+ * contention is compared by a test tagged {@code perf}.
+ */
+class JtiGeneratorTests {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(JtiGeneratorConfiguration.class, PropertiesConfiguration.class)
+            .withPropertyValues("com.authauz.authauz.jwt.secret=test");
+
+    @Test
+    void randomIdsAreVersion4Uuids() throws Exception {
+        RandomJtiGenerator generator = new RandomJtiGenerator();
+
+        UUID uuid = UUID.fromString(generator.nextId());
+
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(generateConcurrently(generator)).hasSize(8 * 10_000);
+    }
+
+    @Test
+    void timeOrderedIdsCarryTheIssueTimeAndSort() throws Exception {
+        TimeOrderedJtiGenerator generator = new TimeOrderedJtiGenerator();
+
+        long before = System.currentTimeMillis();
+        List<UUID> ids = IntStream.range(0, 1_000).mapToObj(i -> UUID.fromString(generator.nextId())).toList();
+        long after = System.currentTimeMillis();
+
+        for (UUID uuid : ids) {
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+        }
+        // Issue time is the most significant part, so the millisecond prefixes never go backwards
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).getMostSignificantBits() >>> 16)
+                    .isGreaterThanOrEqualTo(ids.get(i - 1).getMostSignificantBits() >>> 16);
+        }
+        assertThat(generateConcurrently(generator)).hasSize(8 * 10_000);
+    }
+
+    @Test
+    void strategyIsSelectedFromConfiguration() {
+        contextRunner.run(context -> assertThat(context.getBean(JtiGenerator.class))
+                .isInstanceOf(RandomJtiGenerator.class));
+        contextRunner.withPropertyValues("com.authauz.authauz.jwt.jti-strategy=TIME_ORDERED")
+                .run(context -> assertThat(context.getBean(JtiGenerator.class))
+                        .isInstanceOf(TimeOrderedJtiGenerator.class));
+        contextRunner.withPropertyValues("com.authauz.authauz.jwt.jti-strategy=SEQUENTIAL")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    /**
+     * Rough contention benchmark of both strategies at 1, 2, 4 and N threads,
+     * N being the available processors. The project has no JMH, so it prints
+     * the throughput and only runs with {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void comparesStrategiesUnderContention() throws Exception {
+        SortedSet<Integer> threadCounts = new TreeSet<>(List.of(1, 2, 4, Runtime.getRuntime().availableProcessors()));
+        Map<String, JtiGenerator> generators = Map.of(
+                "random", new RandomJtiGenerator(),
+                "time-ordered", new TimeOrderedJtiGenerator());
+
+        for (Map.Entry<String, JtiGenerator> generator : new TreeMap<>(generators).entrySet()) {
+            // Warm up on all threads first
+            idsPerSecond(generator.getValue(), threadCounts.last(), 200_000);
+            for (int threads : threadCounts) {
+                System.out.printf("Jti generator '%s', %d threads: %,d ids/s%n", generator.getKey(), threads,
+                        idsPerSecond(generator.getValue(), threads, 500_000));
+            }
+        }
+    }
+
+    /**
+     * Starts the threads together and times until each has generated its
+     * identifiers.
+     */
+    private static long idsPerSecond(JtiGenerator generator, int threads, int idsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = IntStream.range(0, threads)
+                    .mapToObj(t -> executor.submit(() -> {
+                        start.await();
+                        int sink = 0;
+                        for (int i = 0; i < idsPerThread; i++) {
+                            sink += generator.nextId().hashCode();
+                        }
+                        return sink;
+                    }))
+                    .toList();
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            return (long) threads * idsPerThread * 1_000_000_000L / elapsed;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Generates 10,000 identifiers on each of 8 threads.
+     *
+     * @return the distinct identifiers
+     */
+    private static Set<String> generateConcurrently(JtiGenerator generator) throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        for (int i = 0; i < 10_000; i++) {
+                            ids.add(generator.nextId());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return ids;
+    }
+
+    @EnableConfigurationProperties(AppConfigurationProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
@@ -0,0 +1,238 @@
+package com.authauz.authauz.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties.GateConfiguration;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tests of {@link TokenGate}: what it stops before the delegate and what it
+ * caches, counted through the delegate's calls. A test tagged {@code perf}
+ * times a mixed flood with and without the gate.
+ */
+class TokenGateTests {
+    private static final SecretKey KEY = Keys
+            .hmacShaKeyFor("++36xfSobeiERWDtfXGvtF1MTkxHITOKR0R8j/8OsTs=".getBytes(StandardCharsets.UTF_8));
+    private static final SecretKey OTHER_KEY = Keys
+            .hmacShaKeyFor("nXnQ9uV1wTmI4bqDkGZ3yS0oP7aLrEc2hJfK8xYtW6M=".getBytes(StandardCharsets.UTF_8));
+
+    private final JjwtCodec jjwt = new JjwtCodec();
+    private final CountingCodec counting = new CountingCodec(jjwt);
+    private final TokenGate gate = new TokenGate(counting, new GateConfiguration());
+
+    @Test
+    void passesValidTokens() {
+        TokenClaims claims = claims(900, 0);
+
+        assertThat(gate.verify(jjwt.sign(claims, KEY), KEY)).isEqualTo(claims);
+    }
+
+    @Test
+    void rejectsJunkWithoutVerifying() {
+        String valid = jjwt.sign(claims(900, 0), KEY);
+        String unsecured = Jwts.builder().subject("user").compact();
+        String[] junk = { "", "abc", "a.b.c", "a..c", valid + ".x", valid.substring(0, valid.length() - 1) + "+",
+                "x".repeat(5000), unsecured, "eyJhbGciOiJub25lIn0." + valid.split("\\.")[1] + ".sig" };
+
+        for (String token : junk) {
+            assertThatThrownBy(() -> gate.verify(token, KEY)).as(token).isInstanceOf(RuntimeException.class);
+        }
+        assertThat(counting.calls.get()).isZero();
+    }
+
+    @Test
+    void replayedForgeryHitsTheNegativeCache() {
+        String forged = jjwt.sign(claims(900, 0), OTHER_KEY);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> gate.verify(forged, KEY)).hasMessage("Authentication token is invalid.");
+        }
+        assertThat(counting.calls.get()).isOne();
+    }
+
+    @Test
+    void peeksExpiryBeforeVerifying() {
+        String expired = jjwt.sign(claims(-60, 0), KEY);
+
+        assertThatThrownBy(() -> gate.verify(expired, KEY)).hasMessage("Authentication token has expired.");
+        assertThat(counting.calls.get()).isZero();
+    }
+
+    @Test
+    void ignoresNestedExpAndDoesNotCacheNotYetValid() {
+        long now = System.currentTimeMillis() / 1000L;
+        String nested = Jwts.builder()
+                .subject("user")
+                .claim("session", Map.of("exp", now - 3600))
+                .expiration(new Date((now + 900) * 1000L))
+                .signWith(KEY)
+                .compact();
+        String premature = jjwt.sign(claims(900, 600), KEY);
+
+        assertThat(gate.verify(nested, KEY).getSubject()).isEqualTo("user");
+        assertThatThrownBy(() -> gate.verify(premature, KEY)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> gate.verify(premature, KEY)).isInstanceOf(RuntimeException.class);
+        assertThat(counting.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void cachesRejectionsByReasonNotMessage() {
+        CountingCodec fast = new CountingCodec(new FastJwtCodec(jjwt));
+        TokenGate fastGate = new TokenGate(fast, new GateConfiguration());
+        String premature = jjwt.sign(claims(900, 600), KEY);
+        String forged = jjwt.sign(claims(900, 0), OTHER_KEY);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> fastGate.verify(premature, KEY)).isInstanceOfSatisfying(
+                    InvalidTokenException.class,
+                    e -> assertThat(e.getReason()).isEqualTo(InvalidTokenException.Reason.NOT_YET_VALID));
+            assertThatThrownBy(() -> fastGate.verify(forged, KEY)).isInstanceOfSatisfying(
+                    InvalidTokenException.class,
+                    e -> assertThat(e.getReason()).isEqualTo(InvalidTokenException.Reason.INVALID));
+        }
+        // Every premature attempt reaches the codec, the forgery only once
+        assertThat(fast.calls.get()).isEqualTo(3 + 1);
+    }
+
+    /**
+     * Mixed flood: 40% junk, 30% a handful of replayed forgeries, 20% expired,
+     * 10% valid. Only the valid tokens and the first sight of each forgery may
+     * reach the codec.
+     */
+    @Test
+    void mixedFloodOnlyReachesTheCodecForValidTokensAndNewForgeries() {
+        String[] junk = new String[64];
+        for (int i = 0; i < junk.length; i++) {
+            junk[i] = UUID.randomUUID() + "." + i;
+        }
+        String[] forged = new String[8];
+        for (int i = 0; i < forged.length; i++) {
+            forged[i] = jjwt.sign(claims(900, 0), OTHER_KEY);
+        }
+        String expired = jjwt.sign(claims(-60, 0), KEY);
+        String valid = jjwt.sign(claims(900, 0), KEY);
+
+        Set<String> forgeriesSeen = new HashSet<>();
+        int validCount = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            int dice = random.nextInt(100);
+            String token = dice < 40 ? junk[random.nextInt(junk.length)]
+                    : dice < 70 ? forged[random.nextInt(forged.length)]
+                            : dice < 90 ? expired : valid;
+            if (token == valid) {
+                validCount++;
+            } else if (dice >= 40 && dice < 70) {
+                forgeriesSeen.add(token);
+            }
+            try {
+                gate.verify(token, KEY);
+            } catch (RuntimeException e) {
+                // rejected
+            }
+        }
+
+        assertThat(counting.calls.get()).isEqualTo(validCount + forgeriesSeen.size());
+    }
+
+    /**
+     * Rough timing of the same mixed flood through the bare codec and through
+     * the gate; the project has no JMH, so it prints the cost per token and
+     * only runs with {@code mvn -Pperf test}.
+     */
+    @Test
+    @Tag("perf")
+    void comparesMixedFloodWithAndWithoutTheGate() {
+        String[] junk = new String[64];
+        for (int i = 0; i < junk.length; i++) {
+            junk[i] = UUID.randomUUID() + "." + i;
+        }
+        String[] forged = new String[8];
+        for (int i = 0; i < forged.length; i++) {
+            forged[i] = jjwt.sign(claims(900, 0), OTHER_KEY);
+        }
+        String expired = jjwt.sign(claims(-60, 0), KEY);
+        String valid = jjwt.sign(claims(900, 0), KEY);
+
+        String[] flood = new String[10_000];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < flood.length; i++) {
+            int dice = random.nextInt(100);
+            flood[i] = dice < 40 ? junk[random.nextInt(junk.length)]
+                    : dice < 70 ? forged[random.nextInt(forged.length)]
+                            : dice < 90 ? expired : valid;
+        }
+
+        // Warm up both paths, then measure
+        run(jjwt, flood);
+        run(gate, flood);
+        long bare = run(jjwt, flood);
+        long gated = run(gate, flood);
+
+        System.out.printf("Mixed flood of %,d tokens: bare codec %,d ns/token, gated %,d ns/token%n", flood.length,
+                bare / flood.length, gated / flood.length);
+    }
+
+    private static long run(JwtCodec codec, String[] flood) {
+        long startedAt = System.nanoTime();
+        for (String token : flood) {
+            try {
+                codec.verify(token, KEY);
+            } catch (RuntimeException e) {
+                // rejected
+            }
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private static TokenClaims claims(int expiresIn, int notBeforeIn) {
+        long now = System.currentTimeMillis() / 1000L;
+        return TokenClaims.builder()
+                .subject("user")
+                .id(UUID.randomUUID().toString())
+                .audience(UUID.randomUUID().toString())
+                .issuedAt(now - 120)
+                .notBefore(now + notBeforeIn - (notBeforeIn == 0 ? 120 : 0))
+                .expiration(now + expiresIn)
+                .userType("SELLER")
+                .role("ADMIN")
+                .build();
+    }
+
+    private static final class CountingCodec implements JwtCodec {
+        private final JwtCodec delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingCodec(JwtCodec delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String sign(TokenClaims claims, SecretKey secretKey) {
+            return delegate.sign(claims, secretKey);
+        }
+
+        @Override
+        public TokenClaims verify(String jwt, SecretKey secretKey) {
+            calls.incrementAndGet();
+            return delegate.verify(jwt, secretKey);
+        }
+    }
+}
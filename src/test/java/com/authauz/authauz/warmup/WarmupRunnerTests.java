@@ -0,0 +1,61 @@
+package com.authauz.authauz.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+import com.authauz.authauz.configuration.AppConfigurationProperties;
+import com.authauz.authauz.store.UserStore;
+
+/**
+ * Runs the {@link WarmupRunner} against the application on a random port.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "com.authauz.authauz.warmup.enabled=true",
+        "com.authauz.authauz.warmup.iterations=20" })
+class WarmupRunnerTests {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private AppConfigurationProperties properties;
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void exercisesTheHotPathsAndLeavesNoUsersBehind() throws Exception {
+        int users = userStore.size();
+
+        WarmupRunner.Result result = warmupRunner.warmUp(properties.getWarmup());
+
+        assertThat(result.iterations()).isEqualTo(20);
+        // Two authorized requests per iteration, a forged one every tenth
+        assertThat(result.requests()).isEqualTo(42);
+        assertThat(result.unexpected()).isZero();
+        assertThat(userStore.size()).isEqualTo(users);
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void interruptSkipsWarmupWithoutFailingStartup() throws Exception {
+        int users = userStore.size();
+
+        Thread.currentThread().interrupt();
+        warmupRunner.run(new DefaultApplicationArguments());
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(userStore.size()).isEqualTo(users);
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}